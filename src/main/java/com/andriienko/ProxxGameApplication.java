@@ -2,31 +2,136 @@ package com.andriienko;
 
 import com.andriienko.proxx.adapter.in.ApplicationRunner;
 import com.andriienko.proxx.adapter.in.cli.ConsoleApplicationRunner;
+import com.andriienko.proxx.adapter.in.http.HttpApplicationRunner;
+import com.andriienko.proxx.adapter.in.tcp.TcpApplicationRunner;
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
 import com.andriienko.proxx.adapter.out.InMemorySingleGameRepository;
+import com.andriienko.proxx.adapter.out.JournaledGameRepository;
+import com.andriienko.proxx.adapter.out.MappedGameRepository;
 import com.andriienko.proxx.application.mapper.GameMapper;
 import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import com.andriienko.proxx.application.port.out.GameRepository;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.application.service.GamePool;
 import com.andriienko.proxx.application.service.ProxxGameService;
+import com.andriienko.proxx.application.service.SerializedGameService;
 import com.andriienko.proxx.cli.input.resolver.ConsoleInputResolver;
 import com.andriienko.proxx.cli.output.BoardViewFormatter;
 import com.andriienko.proxx.cli.output.factory.ConsoleUIFactory;
-import com.andriienko.proxx.cli.output.formatter.ColorBoardViewFormatter;
 import com.andriienko.proxx.cli.output.formatter.ColorCellViewFormatter;
+import com.andriienko.proxx.cli.output.formatter.GlyphTableBoardViewFormatter;
+import com.andriienko.proxx.cli.output.renderer.DiffTerminalRenderer;
 import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts the console game, the HTTP server when run with {@code http [port]} arguments,
+ * or the binary protocol server when run with {@code tcp [port]} arguments.
+ * Servers keep games in memory, or in a memory-mapped file when its path follows the port,
+ * or in a move journal when the path of an existing directory follows the port
+ */
 public class ProxxGameApplication {
+    private static final int POOL_LOW_WATERMARK = 1;
+    private static final int POOL_HIGH_WATERMARK = 2;
+    private static final int DEFAULT_HTTP_PORT = 8080;
+    private static final int DEFAULT_TCP_PORT = 8081;
+    private static final int MAPPED_REPOSITORY_CAPACITY = 1 << 16;
+
     public static void main(String[] args) {
+        GameFactory gameFactory = new GameFactory(BoardMode.PACKED);
+        ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-pool-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        GamePool gamePool = new GamePool(gameFactory, POOL_LOW_WATERMARK, POOL_HIGH_WATERMARK, refillExecutor);
+        gamePool.warmUp();
+
+        if (args.length > 0 && args[0].equalsIgnoreCase("http")) {
+            runHttpServer(gameFactory, gamePool, args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HTTP_PORT,
+                    createServerRepository(gameFactory, args));
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("tcp")) {
+            runTcpServer(gameFactory, gamePool, args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TCP_PORT,
+                    createServerRepository(gameFactory, args));
+            return;
+        }
+
         PlayGameUseCase gameService = new ProxxGameService(
-                new GameFactory(),
+                gameFactory,
                 new InMemorySingleGameRepository(),
-                new GameMapper()
+                new GameMapper(),
+                gamePool
         );
 
-        BoardViewFormatter boardViewFormatter = new ColorBoardViewFormatter(new ColorCellViewFormatter());
+        ColorCellViewFormatter cellViewFormatter = new ColorCellViewFormatter();
+        BoardViewFormatter boardViewFormatter = new GlyphTableBoardViewFormatter(cellViewFormatter);
         ApplicationRunner cliAdapter = new ConsoleApplicationRunner(
                 gameService,
                 new ConsoleInputResolver(),
-                new ConsoleUIFactory(boardViewFormatter)
+                new ConsoleUIFactory(boardViewFormatter),
+                new DiffTerminalRenderer(cellViewFormatter, System.out)
         );
         cliAdapter.run();
     }
-}
\ No newline at end of file
+
+    private static GameRepository createServerRepository(GameFactory gameFactory, String[] args) {
+        if (args.length < 3) {
+            return new InMemoryGameRepository();
+        }
+        Path path = Path.of(args[2]);
+        try {
+            if (Files.isDirectory(path)) {
+                return closeOnShutdown(new JournaledGameRepository(path, gameFactory));
+            }
+            return closeOnShutdown(new MappedGameRepository(path, MAPPED_REPOSITORY_CAPACITY, gameFactory));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Servers run until the JVM is stopped, so durable repositories force their writes to the disk from a shutdown hook
+     */
+    private static <T extends GameRepository & Closeable> T closeOnShutdown(T repository) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                repository.close();
+            } catch (IOException e) {
+                System.err.println("Games could not be flushed: " + e.getMessage());
+            }
+        }, "repository-close"));
+        return repository;
+    }
+
+    private static void runHttpServer(GameFactory gameFactory, GamePool gamePool, int port, GameRepository gameRepository) {
+        ExecutorService mailboxExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        PlayGameUseCase gameService = new SerializedGameService(
+                new ProxxGameService(gameFactory, gameRepository, new GameMapper(), gamePool),
+                new GameMailboxes(mailboxExecutor, gameRepository)
+        );
+        HttpApplicationRunner httpAdapter = new HttpApplicationRunner(gameService, port);
+        httpAdapter.run();
+        System.out.println("Proxx game is served on port " + httpAdapter.getPort());
+    }
+
+    /**
+     * The adapter runs moves through the mailboxes itself, so the use case is not wrapped by {@link SerializedGameService}
+     */
+    private static void runTcpServer(GameFactory gameFactory, GamePool gamePool, int port, GameRepository gameRepository) {
+        ExecutorService mailboxExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        PlayGameUseCase gameService = new ProxxGameService(gameFactory, gameRepository, new GameMapper(), gamePool);
+        TcpApplicationRunner tcpAdapter = new TcpApplicationRunner(gameService, new GameMailboxes(mailboxExecutor, gameRepository), port);
+        tcpAdapter.run();
+        System.out.println("Proxx game binary protocol is served on port " + tcpAdapter.getPort());
+    }
+}
@@ -2,13 +2,25 @@ package com.andriienko.proxx.adapter.in.cli;
 
 import com.andriienko.proxx.adapter.in.ApplicationRunner;
 import com.andriienko.proxx.cli.output.UIFactory;
+import com.andriienko.proxx.cli.output.Viewport;
 import com.andriienko.proxx.cli.input.InputResolver;
+import com.andriienko.proxx.cli.output.renderer.DiffTerminalRenderer;
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
 import com.andriienko.proxx.application.port.in.PlayGameUseCase;
 import com.andriienko.proxx.enums.GameStatus;
 import com.andriienko.proxx.enums.PlayMode;
+import com.andriienko.proxx.enums.ScrollDirection;
 import lombok.AllArgsConstructor;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -17,15 +29,29 @@ import java.util.function.Predicate;
  * The primary goal of this class is to act as an intermediary between the user and the game's core logic.
  * This design allows changes to the core logic or the user interface to be made independently,
  * improving the system's flexibility and maintainability.
+ * <p>
+ * When a {@link DiffTerminalRenderer} is given, boards are redrawn by cursor positioning, only where cells changed,
+ * otherwise every move clears the screen and prints the whole board.
+ * <p>
+ * Only a {@link Viewport} sized from the terminal is mapped and printed, so the cost of a frame is bounded
+ * by the screen rather than by the board. When the terminal size could not be found a 24x80 terminal is assumed. The viewport follows the last move and is scrolled by w, a, s, d at the Row and Col prompts.
+ * Moves are made by {@link PlayGameUseCase#revealCellDelta}, so no view of the whole board is built per move,
+ * the {@link GameView} of the new game keeps its id, dimensions and seed.
  */
 @AllArgsConstructor
 public class ConsoleApplicationRunner implements ApplicationRunner {
     private static final int MIN_BOARD_SIDE = 3;
-    private static final int MAX_BOARD_SIDE = 50;
+    private static final int MAX_BOARD_SIDE = 100;
+    private static final int OUTPUT_BUFFER_SIZE = 8192;
 
     private final PlayGameUseCase gameService;
     private final InputResolver inputResolver;
     private final UIFactory uiFactory;
+    private final DiffTerminalRenderer renderer;
+
+    public ConsoleApplicationRunner(PlayGameUseCase gameService, InputResolver inputResolver, UIFactory uiFactory) {
+        this(gameService, inputResolver, uiFactory, null);
+    }
 
     public void run() {
         printMainMenu();
@@ -40,15 +66,28 @@ public class ConsoleApplicationRunner implements ApplicationRunner {
      * When the game ends the full board is revealed and a victory/defeat message is shown.
      */
     private void gameLoop(GameView gameView) {
-        printBoard(gameView);
+        int[] terminalSize = terminalSize();
+        Viewport viewport = Viewport.forTerminal(gameView.getRows(), gameView.getColumns(), terminalSize[0], terminalSize[1]);
+        long revealedCellsNumber = gameView.getRevealedCellsNumber();
+        GameStatus status = gameView.getStatus();
+        printBoard(gameView, revealedCellsNumber, viewport);
         do {
-            int row = inputResolver.getIntegerInput(isValidRowNumber(gameView), "Row [%d..%d] (q for exit): ".formatted(1, gameView.getBoardView().getRows()));
-            int column = inputResolver.getIntegerInput(isValidColumnNumber(gameView), "Col [%d..%d] (q for exit): ".formatted(1, gameView.getBoardView().getColumns()));
-            gameView = gameService.revealCell(row - 1, column - 1);
-            printBoard(gameView);
-        } while (gameView.getStatus() == GameStatus.IN_PROGRESS);
-
-        if (gameView.getStatus() == GameStatus.WIN) {
+            long shownRevealedCellsNumber = revealedCellsNumber;
+            Consumer<ScrollDirection> scroll = direction -> {
+                viewport.scroll(direction);
+                printBoard(gameView, shownRevealedCellsNumber, viewport);
+            };
+            int row = inputResolver.getIntegerInputOrScroll(isValidRowNumber(gameView), "Row [%d..%d] (q for exit): ".formatted(1, gameView.getRows()), scroll);
+            int column = inputResolver.getIntegerInputOrScroll(isValidColumnNumber(gameView), "Col [%d..%d] (q for exit): ".formatted(1, gameView.getColumns()), scroll);
+            GameDelta delta = gameService.revealCellDelta(gameView.getGameId(), row - 1, column - 1);
+            revealedCellsNumber = delta.getRevealedCellsNumber();
+            status = delta.getStatus();
+            viewport.centerOn(row - 1, column - 1);
+            printBoard(gameView, revealedCellsNumber, viewport);
+        } while (status == GameStatus.IN_PROGRESS);
+
+        gameService.removeGame(gameView.getGameId());
+        if (status == GameStatus.WIN) {
             System.out.println("Congratulations, you won!");
         } else {
             System.out.println("Sorry, you lose");
@@ -80,6 +119,9 @@ public class ConsoleApplicationRunner implements ApplicationRunner {
     }
 
     private void printMainMenu() {
+        if (renderer != null) {
+            renderer.reset();
+        }
         clearScreen();
         printBanner();
         System.out.println(uiFactory.createMainMenu());
@@ -90,11 +132,72 @@ public class ConsoleApplicationRunner implements ApplicationRunner {
         System.out.println();
     }
 
-    private void printBoard(GameView gameView) {
+    /**
+     * Prints the viewport of the board, mapping only the cells of the viewport
+     *
+     * @param gameView - view of the game when it was created, its counters except revealed cells do not change
+     */
+    private void printBoard(GameView gameView, long revealedCellsNumber, Viewport viewport) {
+        String statusLine = "Revealed %d of %d with %d black holes! Seed: %d".formatted(revealedCellsNumber, gameView.getSize(),
+                gameView.getBlackHolesNumber(), gameView.getSeed());
+        if (viewport.isPartial()) {
+            statusLine += " Rows %d..%d, cols %d..%d of %dx%d (w/a/s/d to scroll)".formatted(viewport.getFromRow() + 1,
+                    viewport.getFromRow() + viewport.getRows(), viewport.getFromColumn() + 1, viewport.getFromColumn() + viewport.getColumns(),
+                    viewport.getBoardRows(), viewport.getBoardColumns());
+        }
+        BoardView boardView = gameService.getBoardView(gameView.getGameId(), viewport.getFromRow(), viewport.getFromColumn(), viewport.getRows(), viewport.getColumns());
+        if (renderer != null) {
+            renderer.render(boardView, statusLine);
+            return;
+        }
         clearScreen();
         System.out.println("\n\n");
-        System.out.println(uiFactory.createBoard(gameView.getBoardView()));
-        System.out.printf("Revealed %d of %d with %d black holes!%n%n", gameView.getRevealedCellsNumber(), gameView.getSize(), gameView.getBlackHolesNumber());
+        // streams the board through a fixed size buffer instead of building the whole frame as a String
+        OutputStream out = new BufferedOutputStream(System.out, OUTPUT_BUFFER_SIZE);
+        try {
+            uiFactory.writeBoard(boardView, out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.printf("%n%s%n%n", statusLine);
+    }
+
+    /**
+     * Reads the size of the terminal from LINES and COLUMNS, which shells rarely export to child processes,
+     * otherwise asks {@code stty size} about the controlling terminal
+     *
+     * @return lines and columns of the terminal, 0 when unknown
+     */
+    private int[] terminalSize() {
+        int lines = parseSize(System.getenv("LINES"));
+        int columns = parseSize(System.getenv("COLUMNS"));
+        if (lines > 0 && columns > 0) {
+            return new int[]{lines, columns};
+        }
+        try {
+            Process stty = new ProcessBuilder("stty", "size")
+                    .redirectInput(new File("/dev/tty"))
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            String[] size = new String(stty.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim().split("\\s+");
+            if (stty.waitFor() == 0 && size.length == 2) {
+                return new int[]{parseSize(size[0]), parseSize(size[1])};
+            }
+        } catch (IOException e) {
+            // no stty or no controlling terminal, e.g. on Windows or in a container without a tty
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new int[]{0, 0};
+    }
+
+    private int parseSize(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     /**
@@ -106,11 +209,11 @@ public class ConsoleApplicationRunner implements ApplicationRunner {
     }
 
     private Predicate<Integer> isValidRowNumber(GameView gameView) {
-        return row -> row > 0 && row <= gameView.getBoardView().getRows();
+        return row -> row > 0 && row <= gameView.getRows();
     }
 
     private Predicate<Integer> isValidColumnNumber(GameView gameView) {
-        return column -> column > 0 && column <= gameView.getBoardView().getColumns();
+        return column -> column > 0 && column <= gameView.getColumns();
     }
 
     private Predicate<Integer> isValidBoardSide() {
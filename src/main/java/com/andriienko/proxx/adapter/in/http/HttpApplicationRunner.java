@@ -0,0 +1,194 @@
+package com.andriienko.proxx.adapter.in.http;
+
+import com.andriienko.proxx.adapter.in.ApplicationRunner;
+import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The HttpApplicationRunner class is an input adapter, like {@link com.andriienko.proxx.adapter.in.cli.ConsoleApplicationRunner},
+ * which serves any number of players over HTTP with the JDK built-in server, so no dependency is needed.
+ * <p>
+ * Endpoints, all coordinates are zero based and all responses are compact JSON, see {@link JsonResponses}:
+ * <ul>
+ *     <li>{@code POST /games?rows=&columns=&blackHoles=[&seed=]} - creates a game and returns its id</li>
+ *     <li>{@code POST /games/{id}/reveal?row=&column=} - reveals a cell and returns only the cells changed by the move</li>
+ *     <li>{@code GET /games/{id}/board?[fromRow=&fromColumn=&rows=&columns=]} - returns a window of the board, e.g. after a full refresh</li>
+ *     <li>{@code DELETE /games/{id}} - forgets the game</li>
+ * </ul>
+ * Errors are answered with {@code {"error":...}}: 400 for invalid parameters, 404 for unknown paths and games,
+ * 409 for moves which are not allowed in the state of the game and 500 for anything unexpected.
+ * Every request runs on its own virtual thread when the JDK supports them (21+), otherwise on a fixed pool of platform threads.
+ * The use case is supposed to be safe for concurrent calls, e.g. {@link com.andriienko.proxx.application.service.SerializedGameService}.
+ */
+public class HttpApplicationRunner implements ApplicationRunner {
+    private static final String GAMES_PATH = "/games";
+    private static final int BACKLOG = 1024;
+    private static final int MAX_WINDOW_SIDE = 100;
+    private static final int PLATFORM_THREADS_PER_CORE = 8;
+
+    private final PlayGameUseCase gameService;
+    private final InetSocketAddress address;
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+
+    public HttpApplicationRunner(PlayGameUseCase gameService, int port) {
+        this(gameService, new InetSocketAddress(port));
+    }
+
+    public HttpApplicationRunner(PlayGameUseCase gameService, InetSocketAddress address) {
+        this.gameService = gameService;
+        this.address = address;
+    }
+
+    /**
+     * Starts the server and returns, requests are served by the server threads until {@link #stop()}
+     */
+    public void run() {
+        try {
+            server = HttpServer.create(address, BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        requestExecutor = newRequestExecutor();
+        server.setExecutor(requestExecutor);
+        server.createContext(GAMES_PATH, this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            requestExecutor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * @return port the server listens to, useful when it was started on an ephemeral port
+     */
+    public int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Server is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Virtual thread per request executor is looked up reflectively, since the project is compiled for Java 17
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newFixedThreadPool(PLATFORM_THREADS_PER_CORE * Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (GameNotFoundException e) {
+            respond(exchange, 404, JsonResponses.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, JsonResponses.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            respond(exchange, 409, JsonResponses.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            // the client gets a status instead of a dropped connection, the details are not exposed
+            respond(exchange, 500, JsonResponses.error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String subPath = exchange.getRequestURI().getPath().substring(GAMES_PATH.length());
+        if (!subPath.isEmpty() && subPath.charAt(0) != '/') {
+            respond(exchange, 404, JsonResponses.error("Not found"));
+            return;
+        }
+        String[] path = subPath.split("/");
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        // "/games" splits into [""], "/games/1/reveal" into ["", "1", "reveal"]
+        if (path.length <= 1) {
+            if (method.equals("POST")) {
+                respond(exchange, 201, JsonResponses.game(newGame(parameters)));
+            } else {
+                respond(exchange, 405, JsonResponses.error("Method is not allowed"));
+            }
+            return;
+        }
+        long gameId = Long.parseLong(path[1]);
+        String action = path.length > 2 ? path[2] : "";
+        switch (method + " " + action) {
+            case "POST reveal" -> respond(exchange, 200, JsonResponses.delta(gameService.revealCellDelta(gameId,
+                    intParameter(parameters, "row"), intParameter(parameters, "column"))));
+            case "GET board" -> respond(exchange, 200, JsonResponses.board(gameService.getBoardView(gameId,
+                    intParameter(parameters, "fromRow", 0), intParameter(parameters, "fromColumn", 0),
+                    Math.min(MAX_WINDOW_SIDE, intParameter(parameters, "rows", MAX_WINDOW_SIDE)),
+                    Math.min(MAX_WINDOW_SIDE, intParameter(parameters, "columns", MAX_WINDOW_SIDE)))));
+            case "DELETE " -> {
+                gameService.removeGame(gameId);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> respond(exchange, 404, JsonResponses.error("Not found"));
+        }
+    }
+
+    private GameView newGame(Map<String, String> parameters) {
+        int rows = intParameter(parameters, "rows");
+        int columns = intParameter(parameters, "columns");
+        int blackHoles = intParameter(parameters, "blackHoles");
+        return parameters.containsKey("seed")
+                ? gameService.newGame(rows, columns, blackHoles, Long.parseLong(parameters.get("seed")))
+                : gameService.newGame(rows, columns, blackHoles);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                int separator = parameter.indexOf('=');
+                if (separator > 0) {
+                    parameters.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name, int defaultValue) {
+        return parameters.containsKey(name) ? intParameter(parameters, name) : defaultValue;
+    }
+}
@@ -0,0 +1,91 @@
+package com.andriienko.proxx.adapter.in.http;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.CellChange;
+import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.application.dto.GameDelta;
+import com.andriienko.proxx.application.dto.GameView;
+
+/**
+ * Compact JSON bodies of the HTTP adapter, written by hand since the project has no JSON library.
+ * <p>
+ * Cells are written as single characters: {@code '.'} - hidden, {@code '*'} - black hole, {@code '0'..'8'} - number of adjacent black holes.
+ * Changed cells of a move are {@code [row, column, count]} triples, a revealed cell of a move is never a black hole.
+ */
+final class JsonResponses {
+
+    private JsonResponses() {
+    }
+
+    static String game(GameView gameView) {
+        return "{\"id\":" + gameView.getGameId()
+                + ",\"status\":\"" + gameView.getStatus()
+                + "\",\"rows\":" + gameView.getRows()
+                + ",\"columns\":" + gameView.getColumns()
+                + ",\"blackHoles\":" + gameView.getBlackHolesNumber()
+                + ",\"revealed\":" + gameView.getRevealedCellsNumber()
+                + ",\"seed\":" + gameView.getSeed()
+                + '}';
+    }
+
+    static String delta(GameDelta gameDelta) {
+        StringBuilder json = new StringBuilder(64 + gameDelta.getChangedCells().size() * 12)
+                .append("{\"id\":").append(gameDelta.getGameId())
+                .append(",\"status\":\"").append(gameDelta.getStatus())
+                .append("\",\"revealed\":").append(gameDelta.getRevealedCellsNumber())
+                .append(",\"fullRefresh\":").append(gameDelta.isFullRefresh())
+                .append(",\"cells\":[");
+        for (int i = 0; i < gameDelta.getChangedCells().size(); i++) {
+            CellChange change = gameDelta.getChangedCells().get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('[').append(change.getRow())
+                    .append(',').append(change.getColumn())
+                    .append(',').append(change.getCell().getAdjacentBlackHolesCount())
+                    .append(']');
+        }
+        return json.append("]}").toString();
+    }
+
+    static String board(BoardView boardView) {
+        StringBuilder json = new StringBuilder(64 + boardView.getRows() * (boardView.getColumns() + 3))
+                .append("{\"fromRow\":").append(boardView.getFromRow())
+                .append(",\"fromColumn\":").append(boardView.getFromColumn())
+                .append(",\"cells\":[");
+        for (int row = 0; row < boardView.getRows(); row++) {
+            if (row > 0) {
+                json.append(',');
+            }
+            json.append('"');
+            for (int column = 0; column < boardView.getColumns(); column++) {
+                json.append(cell(boardView.getCellAt(row, column)));
+            }
+            json.append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":\"");
+        String text = message == null ? "" : message;
+        for (int i = 0; i < text.length(); i++) {
+            char symbol = text.charAt(i);
+            if (symbol == '"' || symbol == '\\') {
+                json.append('\\').append(symbol);
+            } else if (symbol < ' ') {
+                json.append(String.format("\\u%04x", (int) symbol));
+            } else {
+                json.append(symbol);
+            }
+        }
+        return json.append("\"}").toString();
+    }
+
+    private static char cell(CellView cell) {
+        if (!cell.isRevealed()) {
+            return '.';
+        }
+        return cell.isBlackHole() ? '*' : (char) ('0' + cell.getAdjacentBlackHolesCount());
+    }
+}
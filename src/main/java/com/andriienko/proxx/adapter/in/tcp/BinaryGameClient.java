@@ -0,0 +1,129 @@
+package com.andriienko.proxx.adapter.in.tcp;
+
+import com.andriienko.proxx.enums.GameStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * Blocking client of {@link BinaryProtocol}, e.g. for bots, tests and benchmarks of {@link TcpApplicationRunner}.
+ * <p>
+ * Buffers and the response are reused by every call, so a call allocates nothing once the cells array has grown
+ * to the largest response. The response is valid until the next call. Not thread safe.
+ */
+public class BinaryGameClient implements Closeable {
+    private static final int RESPONSE_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer request = ByteBuffer.allocateDirect(BinaryProtocol.REQUEST_SIZE);
+    private final ByteBuffer response = ByteBuffer.allocateDirect(RESPONSE_BUFFER_SIZE);
+    private final Response lastResponse = new Response();
+
+    public BinaryGameClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    public Response newGame(int rows, int columns, int blackHoles) throws IOException {
+        request.clear();
+        BinaryProtocol.putNewGame(request, rows, columns, blackHoles);
+        return call();
+    }
+
+    public Response newGame(int rows, int columns, int blackHoles, long seed) throws IOException {
+        request.clear();
+        BinaryProtocol.putNewGame(request, rows, columns, blackHoles, seed);
+        return call();
+    }
+
+    public Response revealCell(long gameId, int row, int column) throws IOException {
+        request.clear();
+        BinaryProtocol.putRevealCell(request, gameId, row, column);
+        return call();
+    }
+
+    public Response removeGame(long gameId) throws IOException {
+        request.clear();
+        BinaryProtocol.putRemoveGame(request, gameId);
+        return call();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Response call() throws IOException {
+        request.flip();
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+        response.clear();
+        readAtLeast(BinaryProtocol.RESPONSE_HEADER_SIZE);
+        response.flip();
+        lastResponse.readHeader(response);
+        int cells = lastResponse.cellsNumber;
+        for (int cell = 0; cell < cells; cell++) {
+            if (response.remaining() < BinaryProtocol.CELL_SIZE) {
+                response.compact();
+                readAtLeast(BinaryProtocol.CELL_SIZE);
+                response.flip();
+            }
+            lastResponse.cells[cell] = BinaryProtocol.getCell(response);
+        }
+        return lastResponse;
+    }
+
+    private void readAtLeast(int bytes) throws IOException {
+        while (response.position() < bytes) {
+            if (channel.read(response) < 0) {
+                throw new EOFException("Connection was closed by the server");
+            }
+        }
+    }
+
+    /**
+     * Decoded response, cells are packed, see {@link BinaryProtocol#cellRow(long)} and the sibling methods
+     */
+    @Getter
+    public static class Response {
+        private byte result;
+        private GameStatus gameStatus;
+        private boolean fullRefresh;
+        private int cellsNumber;
+        private long gameId;
+        private long revealedCellsNumber;
+        private long seed;
+        @Getter(AccessLevel.NONE)
+        private long[] cells = new long[64];
+
+        public long getCell(int index) {
+            if (index >= cellsNumber) {
+                throw new IllegalArgumentException("Response contains only " + cellsNumber + " cells");
+            }
+            return cells[index];
+        }
+
+        private void readHeader(ByteBuffer buffer) {
+            result = buffer.get();
+            gameStatus = BinaryProtocol.gameStatus(buffer.get());
+            fullRefresh = (buffer.get() & BinaryProtocol.FULL_REFRESH) != 0;
+            buffer.get();
+            cellsNumber = buffer.getInt();
+            gameId = buffer.getLong();
+            revealedCellsNumber = buffer.getLong();
+            seed = buffer.getLong();
+            if (cells.length < cellsNumber) {
+                cells = Arrays.copyOf(cells, Math.max(cellsNumber, cells.length * 2));
+            }
+        }
+    }
+}
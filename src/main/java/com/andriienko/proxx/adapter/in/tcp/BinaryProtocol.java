@@ -0,0 +1,112 @@
+package com.andriienko.proxx.adapter.in.tcp;
+
+import com.andriienko.proxx.enums.GameStatus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed width binary framing of the TCP adapter, all numbers are big-endian.
+ * <p>
+ * Every request is a frame of {@value #REQUEST_SIZE} bytes, the first byte is the command:
+ * <pre>
+ *   NEW_GAME     [1][flags:1][pad:2][rows:4][columns:4][blackHoles:4][seed:8]   flags bit 0 - seed is given
+ *   REVEAL_CELL  [2][pad:3][gameId:8][row:4][column:4][pad:4]
+ *   REMOVE_GAME  [3][pad:3][gameId:8][pad:12]
+ * </pre>
+ * Every response starts with a header of {@value #RESPONSE_HEADER_SIZE} bytes:
+ * <pre>
+ *   [result:1][gameStatus:1][flags:1][pad:1][cells:4][gameId:8][revealedCells:8][seed:8]   flags bit 0 - full refresh
+ * </pre>
+ * followed by {@code cells} changed cells of a reveal, {@value #CELL_SIZE} bytes each: 20 bits of row, 20 bits of column
+ * and 4 bits of the adjacent black holes count packed into the low 44 bits of a 48 bit number.
+ * Cells revealed by a move are never black holes, when a black hole is hit the full refresh flag is set instead.
+ */
+public final class BinaryProtocol {
+    public static final int REQUEST_SIZE = 24;
+    public static final int RESPONSE_HEADER_SIZE = 32;
+    public static final int CELL_SIZE = 6;
+
+    public static final byte NEW_GAME = 1;
+    public static final byte REVEAL_CELL = 2;
+    public static final byte REMOVE_GAME = 3;
+
+    public static final byte OK = 0;
+    public static final byte BAD_REQUEST = 1;
+    public static final byte CONFLICT = 2;
+
+    static final byte SEED_GIVEN = 1;
+    static final byte FULL_REFRESH = 1;
+
+    private static final int COORDINATE_BITS = 20;
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+    private static final int COUNT_BITS = 4;
+    private static final GameStatus[] GAME_STATUSES = GameStatus.values();
+
+    private BinaryProtocol() {
+    }
+
+    public static void putNewGame(ByteBuffer buffer, int rows, int columns, int blackHoles) {
+        putNewGame(buffer, rows, columns, blackHoles, 0, (byte) 0);
+    }
+
+    public static void putNewGame(ByteBuffer buffer, int rows, int columns, int blackHoles, long seed) {
+        putNewGame(buffer, rows, columns, blackHoles, seed, SEED_GIVEN);
+    }
+
+    public static void putRevealCell(ByteBuffer buffer, long gameId, int row, int column) {
+        buffer.put(REVEAL_CELL).put((byte) 0).putShort((short) 0)
+                .putLong(gameId).putInt(row).putInt(column).putInt(0);
+    }
+
+    public static void putRemoveGame(ByteBuffer buffer, long gameId) {
+        buffer.put(REMOVE_GAME).put((byte) 0).putShort((short) 0)
+                .putLong(gameId).putInt(0).putInt(0).putInt(0);
+    }
+
+    static void putHeader(ByteBuffer buffer, byte result, GameStatus gameStatus, boolean fullRefresh, int cells,
+                          long gameId, long revealedCells, long seed) {
+        buffer.put(result)
+                .put(gameStatus == null ? 0 : (byte) gameStatus.ordinal())
+                .put(fullRefresh ? FULL_REFRESH : 0)
+                .put((byte) 0)
+                .putInt(cells)
+                .putLong(gameId)
+                .putLong(revealedCells)
+                .putLong(seed);
+    }
+
+    static void putCell(ByteBuffer buffer, int row, int column, int adjacentBlackHoles) {
+        long packed = ((long) (row & COORDINATE_MASK) << (COORDINATE_BITS + COUNT_BITS))
+                | ((long) (column & COORDINATE_MASK) << COUNT_BITS)
+                | adjacentBlackHoles;
+        buffer.putShort((short) (packed >>> Integer.SIZE)).putInt((int) packed);
+    }
+
+    /**
+     * @return packed cell, see {@link #cellRow(long)}, {@link #cellColumn(long)} and {@link #cellCount(long)}
+     */
+    public static long getCell(ByteBuffer buffer) {
+        return ((long) (buffer.getShort() & 0xFFFF) << Integer.SIZE) | (buffer.getInt() & 0xFFFFFFFFL);
+    }
+
+    public static int cellRow(long cell) {
+        return (int) (cell >>> (COORDINATE_BITS + COUNT_BITS)) & COORDINATE_MASK;
+    }
+
+    public static int cellColumn(long cell) {
+        return (int) (cell >>> COUNT_BITS) & COORDINATE_MASK;
+    }
+
+    public static int cellCount(long cell) {
+        return (int) cell & ((1 << COUNT_BITS) - 1);
+    }
+
+    public static GameStatus gameStatus(byte ordinal) {
+        return GAME_STATUSES[ordinal];
+    }
+
+    private static void putNewGame(ByteBuffer buffer, int rows, int columns, int blackHoles, long seed, byte flags) {
+        buffer.put(NEW_GAME).put(flags).putShort((short) 0)
+                .putInt(rows).putInt(columns).putInt(blackHoles).putLong(seed);
+    }
+}
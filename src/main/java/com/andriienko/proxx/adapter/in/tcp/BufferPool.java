@@ -0,0 +1,32 @@
+package com.andriienko.proxx.adapter.in.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of direct buffers of the same size, so connections reuse the native memory of closed ones.
+ * Not thread safe, owned by the selector thread.
+ */
+class BufferPool {
+    private final int bufferSize;
+    private final Deque<ByteBuffer> buffers = new ArrayDeque<>();
+
+    BufferPool(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        buffers.push(buffer);
+    }
+
+    int size() {
+        return buffers.size();
+    }
+}
@@ -0,0 +1,391 @@
+package com.andriienko.proxx.adapter.in.tcp;
+
+import com.andriienko.proxx.adapter.in.ApplicationRunner;
+import com.andriienko.proxx.application.dto.CellChange;
+import com.andriienko.proxx.application.dto.GameDelta;
+import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.enums.GameStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * The TcpApplicationRunner class is an input adapter, like {@link com.andriienko.proxx.adapter.in.cli.ConsoleApplicationRunner},
+ * which serves bots and mobile clients over TCP with the fixed width binary frames of {@link BinaryProtocol}.
+ * <p>
+ * A single selector thread accepts connections, decodes requests and encodes responses, while the use case runs on the executor
+ * of {@link GameMailboxes}: moves of a game are run through its mailbox, one at a time, and new games are created on any thread,
+ * so neither a game generated on a pool miss nor a repository forcing its writes to the disk stalls other connections.
+ * Finished commands are queued back to the selector thread, which wakes up and writes their responses.
+ * <p>
+ * Every connection gets a direct read and a direct write buffer from pools, which are returned when the connection is closed,
+ * so frames are decoded and encoded in place without allocations. The hand-off and the use case do allocate per request:
+ * a future, a reply and the list of changed cells of a reveal.
+ * Requests could be pipelined: a connection runs one command at a time and responses are written in the order of requests.
+ * A response which does not fit into the write buffer, e.g. a reveal of a large empty region, is streamed as the socket drains.
+ * Reading from a connection is paused while its command runs or its output is pending.
+ * <p>
+ * {@link BinaryGameClient} is a blocking client of the protocol.
+ */
+public class TcpApplicationRunner implements ApplicationRunner {
+    private static final int BACKLOG = 1024;
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final PlayGameUseCase gameService;
+    private final GameMailboxes mailboxes;
+    private final InetSocketAddress address;
+    private final BufferPool readBuffers = new BufferPool(READ_BUFFER_SIZE);
+    private final BufferPool writeBuffers = new BufferPool(WRITE_BUFFER_SIZE);
+    private final Consumer<SelectionKey> readyKeyHandler = this::onReady;
+    private final Queue<Reply> replies = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * @param gameService - use case, called for a game only through its mailbox, so it does not need to serialize moves itself
+     */
+    public TcpApplicationRunner(PlayGameUseCase gameService, GameMailboxes mailboxes, int port) {
+        this(gameService, mailboxes, new InetSocketAddress(port));
+    }
+
+    public TcpApplicationRunner(PlayGameUseCase gameService, GameMailboxes mailboxes, InetSocketAddress address) {
+        this.gameService = gameService;
+        this.mailboxes = mailboxes;
+        this.address = address;
+    }
+
+    /**
+     * Starts the selector thread and returns, connections are served until {@link #stop()}
+     */
+    public void run() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        running = true;
+        selectorThread = new Thread(this::selectLoop, "proxx-tcp-selector");
+        selectorThread.start();
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return port the server listens to, useful when it was started on an ephemeral port
+     */
+    public int getPort() {
+        if (serverChannel == null) {
+            throw new IllegalStateException("Server is not started");
+        }
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                selector.select(readyKeyHandler);
+                writeReplies();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void onReady(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+            } else {
+                Connection connection = (Connection) key.attachment();
+                if (key.isReadable() && connection.channel.read(connection.in) < 0) {
+                    close(key);
+                    return;
+                }
+                connection.serve();
+            }
+        } catch (IOException | RuntimeException e) {
+            // a failed connection is dropped, the others are served further
+            close(key);
+        }
+    }
+
+    /**
+     * Writes the responses of finished commands and resumes serving their connections
+     */
+    private void writeReplies() {
+        Reply reply;
+        while ((reply = replies.poll()) != null) {
+            SelectionKey key = reply.connection.key;
+            if (!key.isValid()) {
+                continue;
+            }
+            try {
+                reply.connection.complete(reply);
+            } catch (IOException | RuntimeException e) {
+                close(key);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key, readBuffers.acquire(), writeBuffers.acquire()));
+    }
+
+    private void close(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        key.cancel();
+        if (key.attachment() instanceof Connection connection) {
+            readBuffers.release(connection.in);
+            writeBuffers.release(connection.out);
+        }
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // the connection is dropped anyway
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+            // nothing to release anymore
+        }
+    }
+
+    private class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in;
+        private final ByteBuffer out;
+        private boolean commandRunning;
+        private List<CellChange> pendingCells;
+        private int nextPendingCell;
+
+        private Connection(SocketChannel channel, SelectionKey key, ByteBuffer in, ByteBuffer out) {
+            this.channel = channel;
+            this.key = key;
+            this.in = in;
+            this.out = out;
+        }
+
+        /**
+         * Handles complete requests until one of them is handed to the executor or its response does not fit,
+         * and writes as much as the socket accepts
+         */
+        private void serve() throws IOException {
+            boolean flushed;
+            do {
+                in.flip();
+                while (!commandRunning && pendingCells == null && in.remaining() >= BinaryProtocol.REQUEST_SIZE
+                        && out.remaining() >= BinaryProtocol.RESPONSE_HEADER_SIZE) {
+                    handle();
+                }
+                in.compact();
+                flushed = flush();
+            } while (flushed && !commandRunning && in.position() >= BinaryProtocol.REQUEST_SIZE);
+            // reading is paused until the running command is finished and the pending output is written
+            key.interestOps(!flushed ? SelectionKey.OP_WRITE : commandRunning ? 0 : SelectionKey.OP_READ);
+        }
+
+        /**
+         * Decodes the request and hands its command to the executor, unknown commands are answered right away
+         */
+        private void handle() {
+            int start = in.position();
+            switch (in.get(start)) {
+                case BinaryProtocol.NEW_GAME -> {
+                    int rows = in.getInt(start + 4);
+                    int columns = in.getInt(start + 8);
+                    int blackHoles = in.getInt(start + 12);
+                    boolean seedGiven = (in.get(start + 1) & BinaryProtocol.SEED_GIVEN) != 0;
+                    long seed = in.getLong(start + 16);
+                    run(0, mailboxes.submit(() -> {
+                        GameView gameView = seedGiven
+                                ? gameService.newGame(rows, columns, blackHoles, seed)
+                                : gameService.newGame(rows, columns, blackHoles);
+                        return new Reply(this, gameView.getStatus(), false, gameView.getGameId(),
+                                gameView.getRevealedCellsNumber(), gameView.getSeed(), null);
+                    }));
+                }
+                case BinaryProtocol.REVEAL_CELL -> {
+                    long gameId = in.getLong(start + 4);
+                    int row = in.getInt(start + 12);
+                    int column = in.getInt(start + 16);
+                    run(gameId, mailboxes.submit(gameId, () -> {
+                        GameDelta delta = gameService.revealCellDelta(gameId, row, column);
+                        return new Reply(this, delta.getStatus(), delta.isFullRefresh(), gameId,
+                                delta.getRevealedCellsNumber(), 0, delta.getChangedCells());
+                    }));
+                }
+                case BinaryProtocol.REMOVE_GAME -> {
+                    long gameId = in.getLong(start + 4);
+                    run(gameId, mailboxes.submit(gameId, () -> {
+                        gameService.removeGame(gameId);
+                        return new Reply(this, null, false, gameId, 0, 0, null);
+                    }));
+                }
+                default -> BinaryProtocol.putHeader(out, BinaryProtocol.BAD_REQUEST, null, false, 0, 0, 0, 0);
+            }
+            in.position(start + BinaryProtocol.REQUEST_SIZE);
+        }
+
+        /**
+         * Queues the reply of the command, or of its failure, to the selector thread once the command is finished
+         */
+        private void run(long gameId, CompletableFuture<Reply> command) {
+            commandRunning = true;
+            command.whenComplete((reply, error) -> {
+                replies.offer(reply != null ? reply : new Reply(this, gameId, error));
+                selector.wakeup();
+            });
+        }
+
+        /**
+         * Writes the response of the finished command and serves the requests read meanwhile
+         *
+         * @throws IllegalStateException when the command failed unexpectedly, the connection is dropped then
+         */
+        private void complete(Reply reply) throws IOException {
+            commandRunning = false;
+            if (reply.error != null && !(reply.error instanceof IllegalArgumentException)
+                    && !(reply.error instanceof IllegalStateException)) {
+                throw new IllegalStateException("Command failed", reply.error);
+            }
+            List<CellChange> cells = reply.cells;
+            BinaryProtocol.putHeader(out, reply.result(), reply.status, reply.fullRefresh, cells == null ? 0 : cells.size(),
+                    reply.gameId, reply.revealedCellsNumber, reply.seed);
+            if (cells != null && !cells.isEmpty()) {
+                pendingCells = cells;
+                nextPendingCell = 0;
+            }
+            serve();
+        }
+
+        /**
+         * @return true when all the output, including pending cells, is written
+         */
+        private boolean flush() throws IOException {
+            while (true) {
+                packPendingCells();
+                out.flip();
+                channel.write(out);
+                boolean drained = !out.hasRemaining();
+                out.compact();
+                if (!drained) {
+                    return false;
+                }
+                if (pendingCells == null) {
+                    return true;
+                }
+            }
+        }
+
+        private void packPendingCells() {
+            if (pendingCells == null) {
+                return;
+            }
+            int size = pendingCells.size();
+            while (nextPendingCell < size && out.remaining() >= BinaryProtocol.CELL_SIZE) {
+                CellChange change = pendingCells.get(nextPendingCell++);
+                BinaryProtocol.putCell(out, change.getRow(), change.getColumn(), change.getCell().getAdjacentBlackHolesCount());
+            }
+            if (nextPendingCell == size) {
+                pendingCells = null;
+            }
+        }
+    }
+
+    /**
+     * Outcome of a command, passed from the executor to the selector thread
+     */
+    private static class Reply {
+        private final Connection connection;
+        private final GameStatus status;
+        private final boolean fullRefresh;
+        private final long gameId;
+        private final long revealedCellsNumber;
+        private final long seed;
+        private final List<CellChange> cells;
+        private final Throwable error;
+
+        private Reply(Connection connection, GameStatus status, boolean fullRefresh, long gameId,
+                      long revealedCellsNumber, long seed, List<CellChange> cells) {
+            this.connection = connection;
+            this.status = status;
+            this.fullRefresh = fullRefresh;
+            this.gameId = gameId;
+            this.revealedCellsNumber = revealedCellsNumber;
+            this.seed = seed;
+            this.cells = cells;
+            this.error = null;
+        }
+
+        private Reply(Connection connection, long gameId, Throwable error) {
+            this.connection = connection;
+            this.status = null;
+            this.fullRefresh = false;
+            this.gameId = gameId;
+            this.revealedCellsNumber = 0;
+            this.seed = 0;
+            this.cells = null;
+            this.error = error;
+        }
+
+        private byte result() {
+            if (error instanceof IllegalArgumentException) {
+                return BinaryProtocol.BAD_REQUEST;
+            }
+            if (error instanceof IllegalStateException) {
+                return BinaryProtocol.CONFLICT;
+            }
+            return BinaryProtocol.OK;
+        }
+    }
+}
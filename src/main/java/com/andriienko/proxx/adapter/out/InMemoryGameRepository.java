@@ -0,0 +1,121 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.application.port.out.GameRepository;
+import com.andriienko.proxx.domain.Game;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free memory storage of any number of live games, up to {@value #MAX_SLOTS} at a time, shared by all threads.
+ * <p>
+ * Games are kept in slots of fixed size segments, {@link AtomicReferenceArray}s of {@value #SEGMENT_SIZE} slots
+ * allocated on first use, so the repository does not reserve memory for games which were never created and never copies
+ * a table while growing. A game id packs the slot into its low 32 bits and the generation of the slot into the high ones:
+ * a lookup is two array reads without hashing and boxing, and an id of a deleted game never reaches a game that reuses its slot.
+ * <p>
+ * Deleting a game bumps the generation of its slot first, so a concurrent lookup either sees the game with the generation
+ * of its id or fails. Slots of deleted games are reused before new ones are taken.
+ */
+public class InMemoryGameRepository implements GameRepository {
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int MAX_SEGMENTS = 1 << 15;
+    private static final long MAX_SLOTS = (long) MAX_SEGMENTS * SEGMENT_SIZE - 1;
+
+    private final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Game get(long gameId) {
+        int slot = slotOf(gameId);
+        Segment segment = slot >= 0 ? segments.get(slot >>> SEGMENT_BITS) : null;
+        if (segment != null) {
+            int offset = slot & SEGMENT_MASK;
+            int generation = generationOf(gameId);
+            if (segment.generations.get(offset) == generation) {
+                Game game = segment.games.get(offset);
+                if (game != null && segment.generations.get(offset) == generation) {
+                    return game;
+                }
+            }
+        }
+        throw new GameNotFoundException(gameId);
+    }
+
+    @Override
+    public long save(Game game) {
+        Integer freeSlot = freeSlots.poll();
+        int slot = freeSlot != null ? freeSlot : takeNewSlot();
+        Segment segment = segmentOf(slot);
+        int offset = slot & SEGMENT_MASK;
+        segment.games.set(offset, game);
+        size.incrementAndGet();
+        return idOf(segment.generations.get(offset), slot);
+    }
+
+    @Override
+    public void delete(long gameId) {
+        int slot = slotOf(gameId);
+        Segment segment = slot >= 0 ? segments.get(slot >>> SEGMENT_BITS) : null;
+        if (segment == null) {
+            return;
+        }
+        int offset = slot & SEGMENT_MASK;
+        int generation = generationOf(gameId);
+        if (segment.games.get(offset) != null && segment.generations.compareAndSet(offset, generation, generation + 1)) {
+            segment.games.set(offset, null);
+            size.decrementAndGet();
+            freeSlots.offer(slot);
+        }
+    }
+
+    /**
+     * @return number of live games
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private int takeNewSlot() {
+        int slot = nextSlot.getAndIncrement();
+        if (slot < 0 || slot >= MAX_SLOTS) {
+            throw new IllegalStateException("Too much games. Repository could hold at most " + MAX_SLOTS + " games");
+        }
+        return slot;
+    }
+
+    private Segment segmentOf(int slot) {
+        int index = slot >>> SEGMENT_BITS;
+        Segment segment = segments.get(index);
+        if (segment == null) {
+            segments.compareAndSet(index, null, new Segment());
+            segment = segments.get(index);
+        }
+        return segment;
+    }
+
+    private static long idOf(int generation, int slot) {
+        return (long) generation << Integer.SIZE | slot;
+    }
+
+    private static int slotOf(long gameId) {
+        return (int) gameId;
+    }
+
+    private static int generationOf(long gameId) {
+        return (int) (gameId >>> Integer.SIZE);
+    }
+
+    private static class Segment {
+        private final AtomicReferenceArray<Game> games = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        private final AtomicIntegerArray generations = new AtomicIntegerArray(SEGMENT_SIZE);
+    }
+}
@@ -1,5 +1,6 @@
 package com.andriienko.proxx.adapter.out;
 
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
 import com.andriienko.proxx.application.port.out.GameRepository;
 import com.andriienko.proxx.domain.Game;
 import lombok.NoArgsConstructor;
@@ -10,7 +11,8 @@ import lombok.NoArgsConstructor;
  * which decouples the application logic from the infrastructure concerns.
  * This keeps Service Layer clean and independent of the specific persistence technology.
  *<p>
- * In this case, InMemorySingleGameRepository is providing a memory storage mechanism.
+ * In this case, InMemorySingleGameRepository is providing a memory storage mechanism for a single player:
+ * saving a game replaces the previous one, which id is no longer valid.
  *<p>
  * Even in a simple game like this, utilizing a repository can be beneficial.
  * Imagine you decided to introduce features like maintaining player scores or a top 10 leaderboard.
@@ -19,18 +21,34 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class InMemorySingleGameRepository implements GameRepository {
     private Game game;
+    private long gameId;
 
     @Override
-    public Game get() {
+    public Game get(long gameId) {
         if (game == null) {
             throw new IllegalStateException("There is no initialized board");
         }
+        if (this.gameId != gameId) {
+            throw new GameNotFoundException(gameId);
+        }
         return game;
     }
 
     @Override
-    public Game save(Game game) {
+    public boolean contains(long gameId) {
+        return game != null && this.gameId == gameId;
+    }
+
+    @Override
+    public long save(Game game) {
         this.game = game;
-        return game;
+        return ++gameId;
+    }
+
+    @Override
+    public void delete(long gameId) {
+        if (this.gameId == gameId) {
+            game = null;
+        }
     }
 }
@@ -0,0 +1,415 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.application.port.out.GameRepository;
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.domain.RevealLog;
+import com.andriienko.proxx.enums.BoardMode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Durable repository of flat games which persists the history of every game instead of its board.
+ * <p>
+ * Saving a game appends a record with its dimensions and seed and a record per black hole, every move appends a single
+ * record with the revealed cell, and deleting a game appends one more record: {@link MoveJournal} records of
+ * {@value MoveJournal#RECORD_SIZE} bytes, written with group commit to a segmented log. So a move costs a few bytes
+ * whatever the board size is, and the log doubles as an audit trail of the played games.
+ * <p>
+ * Once snapshotEveryRecords records were appended, the repository writes a snapshot with the black holes and the revealed
+ * cells of every live game and drops the segments it covers, so a restart restores the latest snapshot and replays only
+ * the moves made after it. The snapshot is taken from compact copies of the boards, which are updated together with
+ * appending records, so it does not need to stop the games; moves are only blocked while the snapshot is written.
+ * <p>
+ * Games are kept in memory. Only games without revealed cells, as created by {@link GameFactory}, could be saved.
+ */
+public class JournaledGameRepository implements GameRepository, Closeable {
+    public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    public static final int DEFAULT_SYNC_EVERY_RECORDS = 1;
+    public static final int DEFAULT_SNAPSHOT_EVERY_RECORDS = 1 << 20;
+    private static final int MAX_CELLS = Game.MAX_FLAT_CELLS;
+    private static final int SNAPSHOT_MAGIC = 0x50525853;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String SNAPSHOT_DRAFT = "snapshot.tmp";
+
+    private final Path directory;
+    private final GameFactory gameFactory;
+    private final MoveJournal journal;
+    private final int snapshotEveryRecords;
+    private final Map<Long, Game> games = new ConcurrentHashMap<>();
+    private final Object stateLock = new Object();
+    // guarded by stateLock
+    private final Map<Long, BoardCopy> boardCopies = new HashMap<>();
+    private long nextGameId = 1;
+    private long recordsSinceSnapshot;
+
+    public JournaledGameRepository(Path directory, GameFactory gameFactory) throws IOException {
+        this(directory, gameFactory, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_EVERY_RECORDS, DEFAULT_SNAPSHOT_EVERY_RECORDS);
+    }
+
+    /**
+     * Opens the journal in the directory, creating it when it does not exist, and replays the games saved in it
+     *
+     * @param gameFactory          - factory of flat boards used to restore saved games
+     * @param segmentSize          - size of a journal segment file in bytes
+     * @param syncEveryRecords     - number of records after which the journal is forced to the disk, 1 forces every commit
+     * @param snapshotEveryRecords - number of records after which a snapshot is written
+     */
+    public JournaledGameRepository(Path directory, GameFactory gameFactory, long segmentSize,
+                                   int syncEveryRecords, int snapshotEveryRecords) throws IOException {
+        if (snapshotEveryRecords < 1) {
+            throw new IllegalArgumentException("Snapshot should be written after at least 1 record");
+        }
+        this.directory = directory;
+        this.gameFactory = gameFactory;
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        this.journal = new MoveJournal(directory, segmentSize, syncEveryRecords);
+        Files.createDirectories(directory);
+        journal.open(readLatestSnapshot(), this::replay);
+        // a crash in the middle of a save could leave the game with only some of its black holes
+        boardCopies.values().removeIf(boardCopy -> boardCopy.blackHoles.cardinality() != boardCopy.blackHolesNumber);
+        games.keySet().retainAll(boardCopies.keySet());
+        boardCopies.forEach((gameId, boardCopy) -> games.computeIfAbsent(gameId, id -> boardCopy.restore(gameFactory)));
+        snapshotIfDue();
+    }
+
+    @Override
+    public Game get(long gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        return game;
+    }
+
+    /**
+     * Appends the dimensions and the seed of the game and all its black holes in one batch.
+     * Every black hole record carries the number of black holes of the game, so a game cut off in the middle
+     * of the batch is recognized and dropped when the journal is replayed.
+     */
+    @Override
+    public long save(Game game) {
+        Board board = game.getBoard();
+        if (board.getMode() == BoardMode.CHUNKED || game.getSize() > MAX_CELLS) {
+            throw new IllegalArgumentException("Only flat boards of at most " + MAX_CELLS + " cells could be saved");
+        }
+        if (game.getRevealedCellsNumber() > 0) {
+            throw new IllegalArgumentException("Only games without revealed cells could be saved");
+        }
+        if (game.getBlackHolesNumber() < 1) {
+            throw new IllegalArgumentException("Only games with black holes could be saved");
+        }
+        BoardCopy boardCopy = new BoardCopy(board.getRows(), board.getColumns(), game.getSeed());
+        boardCopy.blackHolesNumber = game.getBlackHolesNumber();
+        for (int index = 0; index < game.getSize(); index++) {
+            if (board.isBlackHoleAt(index / board.getColumns(), index % board.getColumns())) {
+                boardCopy.blackHoles.set(index);
+            }
+        }
+        long gameId;
+        long sequence;
+        synchronized (stateLock) {
+            gameId = nextGameId++;
+            sequence = journal.append(MoveJournal.GAME_CREATED, gameId, boardCopy.rows, boardCopy.columns, boardCopy.seed);
+            BitSet blackHoles = boardCopy.blackHoles;
+            for (int index = blackHoles.nextSetBit(0); index >= 0; index = blackHoles.nextSetBit(index + 1)) {
+                sequence = journal.append(MoveJournal.BLACK_HOLE_PLACED, gameId, index, boardCopy.blackHolesNumber, 0);
+            }
+            boardCopies.put(gameId, boardCopy);
+            games.put(gameId, game);
+            recordsSinceSnapshot += 1 + blackHoles.cardinality();
+        }
+        commit(sequence);
+        return gameId;
+    }
+
+    /**
+     * Appends the last move of the game, so it should be called once per move
+     */
+    @Override
+    public void update(long gameId, Game game) {
+        long sequence;
+        synchronized (stateLock) {
+            BoardCopy boardCopy = boardCopies.get(gameId);
+            if (boardCopy == null) {
+                throw new GameNotFoundException(gameId);
+            }
+            long move = game.getLastMoveIndex();
+            if (move < 0) {
+                return;
+            }
+            sequence = journal.append(MoveJournal.CELL_REVEALED, gameId,
+                    (int) (move / boardCopy.columns), (int) (move % boardCopy.columns), 0);
+            boardCopy.apply(game);
+            recordsSinceSnapshot++;
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public void delete(long gameId) {
+        long sequence;
+        synchronized (stateLock) {
+            if (boardCopies.remove(gameId) == null) {
+                return;
+            }
+            games.remove(gameId);
+            sequence = journal.append(MoveJournal.GAME_DELETED, gameId, 0, 0, 0);
+            recordsSinceSnapshot++;
+        }
+        commit(sequence);
+    }
+
+    /**
+     * @return number of saved games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Writes a snapshot of all the live games and deletes the journal segments and the snapshots it replaces
+     */
+    public void snapshot() {
+        long firstSegment;
+        synchronized (stateLock) {
+            firstSegment = writeSnapshot();
+        }
+        deleteReplacedFiles(firstSegment);
+    }
+
+    /**
+     * Forces all the appended records to the disk
+     */
+    public void flush() {
+        try {
+            journal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    private void commit(long sequence) {
+        try {
+            journal.commit(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshotIfDue();
+    }
+
+    private void snapshotIfDue() {
+        long firstSegment;
+        synchronized (stateLock) {
+            if (recordsSinceSnapshot < snapshotEveryRecords) {
+                return;
+            }
+            firstSegment = writeSnapshot();
+        }
+        deleteReplacedFiles(firstSegment);
+    }
+
+    /**
+     * Starts a new journal segment and writes the state preceding it, the draft file becomes the snapshot
+     * only when it is completely written
+     *
+     * @return number of the first segment which is not covered by the snapshot
+     */
+    private long writeSnapshot() {
+        try {
+            long firstSegment = journal.rollSegment();
+            Path draft = directory.resolve(SNAPSHOT_DRAFT);
+            try (FileOutputStream file = new FileOutputStream(draft.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(nextGameId);
+                out.writeInt(boardCopies.size());
+                for (Map.Entry<Long, BoardCopy> entry : boardCopies.entrySet()) {
+                    BoardCopy boardCopy = entry.getValue();
+                    out.writeLong(entry.getKey());
+                    out.writeInt(boardCopy.rows);
+                    out.writeInt(boardCopy.columns);
+                    out.writeLong(boardCopy.seed);
+                    writeBits(out, boardCopy.blackHoles);
+                    writeBits(out, boardCopy.revealed);
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(draft, snapshotPath(firstSegment), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            recordsSinceSnapshot = 0;
+            return firstSegment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return number of the first segment to replay after the snapshot
+     */
+    private long readLatestSnapshot() throws IOException {
+        List<Long> snapshots = snapshotNumbers();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        long firstSegment = snapshots.get(snapshots.size() - 1);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath(firstSegment))))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IllegalStateException("File " + snapshotPath(firstSegment) + " is not a snapshot");
+            }
+            nextGameId = in.readLong();
+            int gamesNumber = in.readInt();
+            for (int game = 0; game < gamesNumber; game++) {
+                long gameId = in.readLong();
+                BoardCopy boardCopy = new BoardCopy(in.readInt(), in.readInt(), in.readLong());
+                boardCopy.blackHoles.or(readBits(in));
+                boardCopy.revealed.or(readBits(in));
+                boardCopy.blackHolesNumber = boardCopy.blackHoles.cardinality();
+                boardCopies.put(gameId, boardCopy);
+            }
+        }
+        return firstSegment;
+    }
+
+    private void replay(byte type, long gameId, int first, int second, long third) {
+        switch (type) {
+            case MoveJournal.GAME_CREATED -> boardCopies.put(gameId, new BoardCopy(first, second, third));
+            case MoveJournal.BLACK_HOLE_PLACED -> {
+                BoardCopy boardCopy = replayedBoardCopy(gameId);
+                boardCopy.blackHoles.set(first);
+                boardCopy.blackHolesNumber = second;
+            }
+            case MoveJournal.CELL_REVEALED -> {
+                BoardCopy boardCopy = replayedBoardCopy(gameId);
+                Game game = games.computeIfAbsent(gameId, id -> boardCopy.restore(gameFactory));
+                game.revealCell(first, second);
+                boardCopy.apply(game);
+            }
+            case MoveJournal.GAME_DELETED -> {
+                boardCopies.remove(gameId);
+                games.remove(gameId);
+            }
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+        nextGameId = Math.max(nextGameId, gameId + 1);
+        recordsSinceSnapshot++;
+    }
+
+    private BoardCopy replayedBoardCopy(long gameId) {
+        BoardCopy boardCopy = boardCopies.get(gameId);
+        if (boardCopy == null) {
+            throw new IllegalStateException("Journal refers to unknown game " + gameId);
+        }
+        return boardCopy;
+    }
+
+    private void deleteReplacedFiles(long firstSegment) {
+        try {
+            journal.deleteSegmentsBefore(firstSegment);
+            for (long number : snapshotNumbers()) {
+                if (number < firstSegment) {
+                    Files.deleteIfExists(snapshotPath(number));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Long> snapshotNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long firstSegment) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, firstSegment, SNAPSHOT_SUFFIX));
+    }
+
+    private static void writeBits(DataOutputStream out, BitSet bits) throws IOException {
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    private static BitSet readBits(DataInputStream in) throws IOException {
+        long[] words = new long[in.readInt()];
+        for (int word = 0; word < words.length; word++) {
+            words[word] = in.readLong();
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Black holes and revealed cells of a saved game, the state written to snapshots
+     */
+    private static class BoardCopy {
+        private final int rows;
+        private final int columns;
+        private final long seed;
+        private final BitSet blackHoles = new BitSet();
+        private final BitSet revealed = new BitSet();
+        // number of black holes the game was saved with, the game is complete once all of them are placed
+        private int blackHolesNumber;
+
+        private BoardCopy(int rows, int columns, long seed) {
+            this.rows = rows;
+            this.columns = columns;
+            this.seed = seed;
+        }
+
+        /**
+         * Marks the cells opened by the last move of the game, or copies all the revealed cells
+         * when the move was not recorded cell by cell, e.g. when a black hole was hit
+         */
+        private void apply(Game game) {
+            RevealLog revealLog = game.getRevealLog();
+            if (revealLog.isOverflowed()) {
+                Board board = game.getBoard();
+                for (int index = 0; index < game.getSize(); index++) {
+                    if (board.isRevealedAt(index / columns, index % columns)) {
+                        revealed.set(index);
+                    }
+                }
+            } else {
+                for (int position = 0; position < revealLog.size(); position++) {
+                    revealed.set((int) revealLog.getIndex(position));
+                }
+            }
+        }
+
+        private Game restore(GameFactory gameFactory) {
+            return gameFactory.restoreGame(rows, columns, blackHoles, revealed, seed);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.application.port.out.GameRepository;
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.domain.RevealLog;
+import com.andriienko.proxx.enums.BoardMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Durable repository of flat games kept in a memory-mapped file, so games survive restarts without any database.
+ * <p>
+ * Every game occupies a fixed slot of {@value #SLOT_SIZE} bytes: a header with dimensions and seed,
+ * then a bitset of black holes and a bitset of revealed cells, large enough for the largest flat board.
+ * Adjacency counts, counters and status are not stored, they are derived from the bits when a game is restored. Saving a game writes its bits straight
+ * into the slot, and a move sets only the bits of the cells listed in its {@link RevealLog}, so the cost of a move
+ * does not depend on the board size and there is no serialization step.
+ * <p>
+ * Ids are built like in {@link InMemoryGameRepository}: the slot in the low 32 bits and the generation of the slot,
+ * bumped on delete, in the high ones. The file starts with a header holding a bitmap of occupied slots, so opening it
+ * reads only the header, and games are restored by {@link GameFactory#restoreGame} on their first lookup and kept
+ * in memory afterwards. A slot is marked in the bitmap before its game is written and unmarked after it is deleted,
+ * so a marked slot may hold no game only after a crash: when the file was not closed, opening it checks the marked
+ * slots and releases such ones.
+ * <p>
+ * Writes reach the page cache immediately and survive a crash of the process. {@link #flush()} forces them to the disk,
+ * to survive a crash of the machine as well, and {@link #close()} flushes before unmapping, e.g. on shutdown of the server.
+ */
+public class MappedGameRepository implements GameRepository, Closeable {
+    private static final int MAX_CELLS = Game.MAX_FLAT_CELLS;
+    private static final int BITSET_WORDS = (MAX_CELLS + Long.SIZE - 1) / Long.SIZE;
+    private static final int PAGE_SIZE = 4096;
+    private static final int SLOTS_PER_REGION = 1 << 15;
+    private static final int USED = 0x50525858;
+    private static final int MAGIC = 0x50525848;
+
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_CAPACITY = 4;
+    static final int HEADER_CLOSED = 8;
+    static final int OCCUPIED_SLOTS = 64;
+
+    private static final int STATE = 0;
+    private static final int GENERATION = 4;
+    private static final int ROWS = 8;
+    private static final int COLUMNS = 12;
+    private static final int SEED = 16;
+    private static final int BLACK_HOLE_BITS = 64;
+    private static final int REVEALED_BITS = BLACK_HOLE_BITS + BITSET_WORDS * Long.BYTES;
+    // whole pages, so a slot never shares a page with another one
+    static final int SLOT_SIZE = (REVEALED_BITS + BITSET_WORDS * Long.BYTES + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+
+    private final GameFactory gameFactory;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] regions;
+    private final int capacity;
+    private final AtomicReferenceArray<Game> games;
+    private final long[] usedSlots;
+    private int nextFreeSlot;
+    private int size;
+
+    /**
+     * Opens the file, creating it when it does not exist, and reattaches the games saved in it
+     *
+     * @param capacity    - maximal number of games, the file takes capacity * {@value #SLOT_SIZE} bytes and a header,
+     *                    a file should be reopened with the capacity it was created with
+     * @param gameFactory - factory of flat boards used to restore saved games
+     */
+    public MappedGameRepository(Path file, int capacity, GameFactory gameFactory) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Repository should contain at least 1 slot");
+        }
+        this.gameFactory = gameFactory;
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int headerSize = headerSize(capacity);
+        boolean created = channel.size() == 0;
+        if (!created) {
+            checkHeader(headerSize);
+        }
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerSize);
+        this.regions = new MappedByteBuffer[(capacity + SLOTS_PER_REGION - 1) / SLOTS_PER_REGION];
+        for (int region = 0; region < regions.length; region++) {
+            int slots = Math.min(SLOTS_PER_REGION, capacity - region * SLOTS_PER_REGION);
+            regions[region] = channel.map(FileChannel.MapMode.READ_WRITE, headerSize + (long) region * SLOTS_PER_REGION * SLOT_SIZE, (long) slots * SLOT_SIZE);
+        }
+        this.games = new AtomicReferenceArray<>(capacity);
+        this.usedSlots = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        if (created) {
+            header.putInt(HEADER_MAGIC, MAGIC);
+            header.putInt(HEADER_CAPACITY, capacity);
+        }
+        for (int word = 0; word < usedSlots.length; word++) {
+            usedSlots[word] = header.getLong(OCCUPIED_SLOTS + word * Long.BYTES);
+            size += Long.bitCount(usedSlots[word]);
+        }
+        if (!created && header.getInt(HEADER_CLOSED) == 0) {
+            releaseUnsavedSlots();
+        }
+        // cleared until close, so that a crash is detected on the next opening
+        header.putInt(HEADER_CLOSED, 0);
+    }
+
+    @Override
+    public Game get(long gameId) {
+        int slot = slotOf(gameId);
+        MappedByteBuffer region = regionOf(gameId);
+        int offset = offset(slot);
+        if (isSaved(region, offset, gameId)) {
+            Game game = games.get(slot);
+            if (game == null) {
+                games.compareAndSet(slot, null, restore(region, offset));
+                game = games.get(slot);
+            }
+            if (game != null && isSaved(region, offset, gameId)) {
+                return game;
+            }
+        }
+        throw new GameNotFoundException(gameId);
+    }
+
+    @Override
+    public long save(Game game) {
+        Board board = game.getBoard();
+        if (board.getMode() == BoardMode.CHUNKED || game.getSize() > MAX_CELLS) {
+            throw new IllegalArgumentException("Only flat boards of at most " + MAX_CELLS + " cells could be saved");
+        }
+        int slot = takeFreeSlot();
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        long[] blackHoles = new long[BITSET_WORDS];
+        long[] revealed = new long[BITSET_WORDS];
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getColumns(); column++) {
+                int index = row * board.getColumns() + column;
+                if (board.isBlackHoleAt(row, column)) {
+                    blackHoles[index / Long.SIZE] |= 1L << index;
+                }
+                if (board.isRevealedAt(row, column)) {
+                    revealed[index / Long.SIZE] |= 1L << index;
+                }
+            }
+        }
+        for (int word = 0; word < BITSET_WORDS; word++) {
+            region.putLong(offset + BLACK_HOLE_BITS + word * Long.BYTES, blackHoles[word]);
+            region.putLong(offset + REVEALED_BITS + word * Long.BYTES, revealed[word]);
+        }
+        region.putInt(offset + ROWS, board.getRows());
+        region.putInt(offset + COLUMNS, board.getColumns());
+        region.putLong(offset + SEED, game.getSeed());
+        games.set(slot, game);
+        // the slot becomes visible to a reopened repository only when the whole game is written
+        region.putInt(offset + STATE, USED);
+        return idOf(region.getInt(offset + GENERATION), slot);
+    }
+
+    /**
+     * Sets the revealed bits of the cells opened by the last move, or rewrites the whole revealed bitset
+     * when the move was not recorded cell by cell, e.g. when a black hole was hit
+     */
+    @Override
+    public void update(long gameId, Game game) {
+        int slot = slotOf(gameId);
+        MappedByteBuffer region = regionOf(gameId);
+        int offset = offset(slot);
+        if (!isSaved(region, offset, gameId)) {
+            throw new GameNotFoundException(gameId);
+        }
+        RevealLog revealLog = game.getRevealLog();
+        if (revealLog.isOverflowed()) {
+            Board board = game.getBoard();
+            for (int index = 0; index < game.getSize(); index++) {
+                if (board.isRevealedAt(index / board.getColumns(), index % board.getColumns())) {
+                    setBit(region, offset + REVEALED_BITS, index);
+                }
+            }
+        } else {
+            for (int position = 0; position < revealLog.size(); position++) {
+                setBit(region, offset + REVEALED_BITS, (int) revealLog.getIndex(position));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void delete(long gameId) {
+        int slot = slotOf(gameId);
+        if (slot < 0 || slot >= capacity) {
+            return;
+        }
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        if (isSaved(region, offset, gameId)) {
+            // the state first: a crash before the slot is unmarked leaves a marked slot without a game, released on opening
+            region.putInt(offset + STATE, 0);
+            region.putInt(offset + GENERATION, generationOf(gameId) + 1);
+            games.set(slot, null);
+            usedSlots[slot / Long.SIZE] &= ~(1L << slot);
+            writeOccupiedSlots(slot);
+            size--;
+        }
+    }
+
+    /**
+     * @return number of saved games
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Forces all the written slots to the disk
+     */
+    public void flush() {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        header.putInt(HEADER_CLOSED, 1);
+        header.force();
+        channel.close();
+    }
+
+    private synchronized int takeFreeSlot() {
+        if (size == capacity) {
+            throw new IllegalStateException("Too much games. Repository could hold at most " + capacity + " games");
+        }
+        int slot = nextFreeSlot;
+        while ((usedSlots[slot / Long.SIZE] & (1L << slot)) != 0) {
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        usedSlots[slot / Long.SIZE] |= 1L << slot;
+        // marked before the game is written, so a slot holding a game is always marked
+        writeOccupiedSlots(slot);
+        nextFreeSlot = slot + 1 == capacity ? 0 : slot + 1;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Releases the slots marked as occupied but holding no game, left by a crash in the middle of a save or a delete.
+     * Their generation is bumped, as the id of a half deleted game may be known to the clients.
+     */
+    private void releaseUnsavedSlots() {
+        for (int word = 0; word < usedSlots.length; word++) {
+            for (long bits = usedSlots[word]; bits != 0; bits &= bits - 1) {
+                int slot = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                MappedByteBuffer region = region(slot);
+                int offset = offset(slot);
+                if (region.getInt(offset + STATE) != USED) {
+                    region.putInt(offset + GENERATION, region.getInt(offset + GENERATION) + 1);
+                    usedSlots[word] &= ~(1L << slot);
+                    writeOccupiedSlots(slot);
+                    size--;
+                }
+            }
+        }
+    }
+
+    private void checkHeader(int headerSize) throws IOException {
+        ByteBuffer fields = ByteBuffer.allocate(HEADER_CAPACITY + Integer.BYTES);
+        channel.read(fields, 0);
+        if (fields.getInt(HEADER_MAGIC) != MAGIC) {
+            channel.close();
+            throw new IllegalArgumentException("File is not a repository of games");
+        }
+        if (fields.getInt(HEADER_CAPACITY) != capacity) {
+            channel.close();
+            throw new IllegalArgumentException("File holds " + fields.getInt(HEADER_CAPACITY) + " slots instead of " + capacity);
+        }
+        if ((channel.size() - headerSize) % SLOT_SIZE != 0) {
+            // e.g. written with another limit of flat boards, its slots would be misread
+            channel.close();
+            throw new IllegalArgumentException("File is not made of slots of " + SLOT_SIZE + " bytes");
+        }
+    }
+
+    private void writeOccupiedSlots(int slot) {
+        header.putLong(OCCUPIED_SLOTS + slot / Long.SIZE * Long.BYTES, usedSlots[slot / Long.SIZE]);
+    }
+
+    private Game restore(MappedByteBuffer region, int offset) {
+        int rows = region.getInt(offset + ROWS);
+        int columns = region.getInt(offset + COLUMNS);
+        int words = (rows * columns + Long.SIZE - 1) / Long.SIZE;
+        long[] blackHoles = new long[words];
+        long[] revealed = new long[words];
+        for (int word = 0; word < words; word++) {
+            blackHoles[word] = region.getLong(offset + BLACK_HOLE_BITS + word * Long.BYTES);
+            revealed[word] = region.getLong(offset + REVEALED_BITS + word * Long.BYTES);
+        }
+        return gameFactory.restoreGame(rows, columns, BitSet.valueOf(blackHoles), BitSet.valueOf(revealed), region.getLong(offset + SEED));
+    }
+
+    private boolean isSaved(MappedByteBuffer region, int offset, long gameId) {
+        return region.getInt(offset + STATE) == USED && region.getInt(offset + GENERATION) == generationOf(gameId);
+    }
+
+    private static void setBit(MappedByteBuffer region, int bitsOffset, int index) {
+        int position = bitsOffset + index / Long.SIZE * Long.BYTES;
+        region.putLong(position, region.getLong(position) | 1L << index);
+    }
+
+    private MappedByteBuffer regionOf(long gameId) {
+        int slot = slotOf(gameId);
+        if (slot < 0 || slot >= capacity) {
+            throw new GameNotFoundException(gameId);
+        }
+        return region(slot);
+    }
+
+    private MappedByteBuffer region(int slot) {
+        if (slot < 0 || slot >= capacity) {
+            throw new IllegalArgumentException("There is no game in slot " + slot);
+        }
+        return regions[slot / SLOTS_PER_REGION];
+    }
+
+    /**
+     * @return size of the header with the bitmap of the slots, in whole pages like the slots
+     */
+    static int headerSize(int capacity) {
+        long bytes = OCCUPIED_SLOTS + (capacity + Long.SIZE - 1L) / Long.SIZE * Long.BYTES;
+        return (int) ((bytes + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE);
+    }
+
+    private static int offset(int slot) {
+        return slot % SLOTS_PER_REGION * SLOT_SIZE;
+    }
+
+    private static long idOf(int generation, int slot) {
+        return (long) generation << Integer.SIZE | slot;
+    }
+
+    private static int slotOf(long gameId) {
+        return (int) gameId;
+    }
+
+    private static int generationOf(long gameId) {
+        return (int) (gameId >>> Integer.SIZE);
+    }
+}
@@ -0,0 +1,269 @@
+package com.andriienko.proxx.adapter.out;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of fixed size records split into numbered segment files, used by {@link JournaledGameRepository}.
+ * <p>
+ * A record takes {@value #RECORD_SIZE} bytes: type, checksum, game id, two int arguments and a long argument.
+ * Records are appended to an in-memory batch and become durable on {@link #commit(long)}. The first committing thread
+ * writes the batch of every thread which appended meanwhile with a single write call (group commit), the others
+ * only wait for it. Written records survive a crash of the process; the segment is forced to the disk once at least
+ * syncEveryRecords records were written since the last force, so a crash of the machine loses at most that many records.
+ * <p>
+ * A torn or corrupted record, e.g. left by a crash in the middle of a write, ends the log: it is cut off when the log is opened.
+ */
+class MoveJournal implements Closeable {
+    static final int RECORD_SIZE = 32;
+    static final byte GAME_CREATED = 1;
+    static final byte BLACK_HOLE_PLACED = 2;
+    static final byte CELL_REVEALED = 3;
+    static final byte GAME_DELETED = 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int INITIAL_BATCH_RECORDS = 64;
+    private static final int READ_BUFFER_SIZE = 1024 * RECORD_SIZE;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int syncEveryRecords;
+    private final Object writeLock = new Object();
+    private final CRC32C checksum = new CRC32C();
+    // guarded by this
+    private ByteBuffer pending = newBatch(INITIAL_BATCH_RECORDS);
+    private long appended;
+    // guarded by writeLock
+    private ByteBuffer writing = newBatch(INITIAL_BATCH_RECORDS);
+    private FileChannel segment;
+    private long segmentNumber;
+    private long synced;
+    private volatile long written;
+
+    /**
+     * @param segmentSize      - size after which the next batch is written to a new segment
+     * @param syncEveryRecords - number of written records after which the segment is forced to the disk, 1 forces every commit
+     */
+    MoveJournal(Path directory, long segmentSize, int syncEveryRecords) {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment should hold at least 1 record");
+        }
+        if (syncEveryRecords < 1) {
+            throw new IllegalArgumentException("Segment should be forced after at least 1 record");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncEveryRecords = syncEveryRecords;
+    }
+
+    /**
+     * Replays the records of segments starting with fromSegment, cuts off the log after the last valid record
+     * and opens the last segment for appending
+     */
+    void open(long fromSegment, RecordHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> segments = segmentNumbers();
+        segmentNumber = fromSegment;
+        boolean torn = false;
+        for (long number : segments) {
+            if (number < fromSegment) {
+                continue;
+            }
+            if (torn) {
+                Files.delete(segmentPath(number));
+                continue;
+            }
+            segmentNumber = number;
+            torn = !replay(segmentPath(number), handler);
+        }
+        segment = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segment.position(segment.size());
+    }
+
+    /**
+     * Adds a record to the current batch
+     *
+     * @return sequence number of the record, to be passed to {@link #commit(long)}
+     */
+    synchronized long append(byte type, long gameId, int first, int second, long third) {
+        if (pending.remaining() < RECORD_SIZE) {
+            pending = newBatch(pending.capacity() / RECORD_SIZE * 2).put(pending.flip());
+        }
+        int start = pending.position();
+        pending.put(type).put((byte) 0).putShort((short) 0).putInt(0)
+                .putLong(gameId).putInt(first).putInt(second).putLong(third);
+        checksum.reset();
+        checksum.update(pending.array(), start, Integer.BYTES);
+        checksum.update(pending.array(), start + 2 * Integer.BYTES, RECORD_SIZE - 2 * Integer.BYTES);
+        pending.putInt(start + Integer.BYTES, (int) checksum.getValue());
+        return ++appended;
+    }
+
+    /**
+     * Returns once the record with the given sequence number and all the records before it are written
+     */
+    void commit(long sequence) throws IOException {
+        if (written >= sequence) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (written < sequence) {
+                writeBatch();
+            }
+        }
+    }
+
+    /**
+     * Writes all the appended records and starts a new segment
+     *
+     * @return number of the new segment, records appended afterwards go to it or to later ones
+     */
+    long rollSegment() throws IOException {
+        synchronized (writeLock) {
+            writeBatch();
+            roll();
+            return segmentNumber;
+        }
+    }
+
+    /**
+     * Deletes the segments preceding the given one, e.g. once a snapshot covers them
+     */
+    void deleteSegmentsBefore(long firstKept) throws IOException {
+        for (long number : segmentNumbers()) {
+            if (number < firstKept) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+    }
+
+    /**
+     * Writes all the appended records and forces them to the disk
+     */
+    void flush() throws IOException {
+        synchronized (writeLock) {
+            writeBatch();
+            segment.force(false);
+            synced = written;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (segment != null && segment.isOpen()) {
+                flush();
+                segment.close();
+            }
+        }
+    }
+
+    List<Long> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        long upTo;
+        synchronized (this) {
+            ByteBuffer batch = pending;
+            pending = writing;
+            writing = batch;
+            upTo = appended;
+        }
+        writing.flip();
+        if (segment.position() > 0 && segment.position() + writing.remaining() > segmentSize) {
+            roll();
+        }
+        while (writing.hasRemaining()) {
+            segment.write(writing);
+        }
+        writing.clear();
+        written = upTo;
+        if (upTo - synced >= syncEveryRecords) {
+            segment.force(false);
+            synced = upTo;
+        }
+    }
+
+    private void roll() throws IOException {
+        segment.force(false);
+        segment.close();
+        synced = written;
+        segmentNumber++;
+        segment = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segment.position(segment.size());
+    }
+
+    /**
+     * @return false when the segment ended with an invalid record, which was cut off
+     */
+    private boolean replay(Path path, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+            long position = 0;
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < RECORD_SIZE && channel.position() == channel.size()) {
+                    break;
+                }
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int start = buffer.position();
+                    if (!isValid(buffer, start)) {
+                        channel.truncate(position);
+                        return false;
+                    }
+                    handler.onRecord(buffer.get(start), buffer.getLong(start + 8), buffer.getInt(start + 16),
+                            buffer.getInt(start + 20), buffer.getLong(start + 24));
+                    buffer.position(start + RECORD_SIZE);
+                    position += RECORD_SIZE;
+                }
+                buffer.compact();
+            }
+            if (position < channel.size()) {
+                channel.truncate(position);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private boolean isValid(ByteBuffer buffer, int start) {
+        byte type = buffer.get(start);
+        if (type < GAME_CREATED || type > GAME_DELETED) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(buffer.array(), start, Integer.BYTES);
+        checksum.update(buffer.array(), start + 2 * Integer.BYTES, RECORD_SIZE - 2 * Integer.BYTES);
+        return buffer.getInt(start + Integer.BYTES) == (int) checksum.getValue();
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static ByteBuffer newBatch(int records) {
+        return ByteBuffer.allocate(records * RECORD_SIZE);
+    }
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void onRecord(byte type, long gameId, int first, int second, long third) throws IOException;
+    }
+}
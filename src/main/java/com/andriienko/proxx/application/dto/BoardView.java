@@ -4,10 +4,36 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
+/**
+ * Visible state of a board. This class keeps a copy of the cells, subclasses may read them from elsewhere,
+ * so consumers should prefer {@link #getCellAt(int, int)} to {@link #getCells()}, which always materializes the whole board.
+ */
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class BoardView {
     int rows;
     int columns;
     CellView[][] cells;
+
+    /**
+     * @param row    - zero based row coordinate
+     * @param column - zero based column coordinate
+     */
+    public CellView getCellAt(int row, int column) {
+        return cells[row][column];
+    }
+
+    /**
+     * @return zero based board row of the first row of the view, not 0 only for views of a window
+     */
+    public int getFromRow() {
+        return 0;
+    }
+
+    /**
+     * @return zero based board column of the first column of the view, not 0 only for views of a window
+     */
+    public int getFromColumn() {
+        return 0;
+    }
 }
@@ -0,0 +1,13 @@
+package com.andriienko.proxx.application.dto;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CellChange {
+    int row;
+    int column;
+    CellView cell;
+}
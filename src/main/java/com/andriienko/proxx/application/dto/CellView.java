@@ -1,14 +1,43 @@
 package com.andriienko.proxx.application.dto;
 
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
+/**
+ * Immutable visible state of a cell. A cell has only a few dozen distinct visible states, so the mapper serves shared
+ * instances from a precomputed table through {@link #of(int, boolean, boolean, boolean)} instead of allocating
+ * a view per cell. The constructor is private, so every view comes from the table.
+ */
 @Data
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class CellView {
+    private static final int MAX_ADJACENT_BLACK_HOLES = 8;
+    private static final CellView[] INSTANCES = new CellView[(MAX_ADJACENT_BLACK_HOLES + 1) * 8];
+
+    static {
+        for (int count = 0; count <= MAX_ADJACENT_BLACK_HOLES; count++) {
+            for (int flags = 0; flags < 8; flags++) {
+                INSTANCES[count * 8 + flags] = new CellView(count, (flags & 4) != 0, (flags & 2) != 0, (flags & 1) != 0);
+            }
+        }
+    }
+
     int adjacentBlackHolesCount;
     boolean isBlackHole;
     boolean isRevealed;
     boolean isEmpty;
+
+    /**
+     * @return shared instance with the given state
+     */
+    public static CellView of(int adjacentBlackHolesCount, boolean isBlackHole, boolean isRevealed, boolean isEmpty) {
+        if (adjacentBlackHolesCount < 0 || adjacentBlackHolesCount > MAX_ADJACENT_BLACK_HOLES) {
+            throw new IllegalArgumentException("Cell could be surrounded only by 0..8 black holes");
+        }
+        int flags = (isBlackHole ? 4 : 0) | (isRevealed ? 2 : 0) | (isEmpty ? 1 : 0);
+        return INSTANCES[adjacentBlackHolesCount * 8 + flags];
+    }
 }
@@ -0,0 +1,25 @@
+package com.andriienko.proxx.application.dto;
+
+import com.andriienko.proxx.enums.GameStatus;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Result of a single move: counters, status and only the cells changed by the move.
+ * When {@code fullRefresh} is set the move changed too many cells to be listed, e.g. the whole board was revealed
+ * after a black hole was hit, {@code changedCells} is empty and the full {@link GameView} should be requested instead.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GameDelta {
+    long gameId;
+    long revealedCellsNumber;
+    int blackHolesNumber;
+    long size;
+    GameStatus status;
+    boolean fullRefresh;
+    List<CellChange> changedCells;
+}
@@ -6,12 +6,20 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
+/**
+ * Counters, status and a view of the board of a game. Rows and columns are the board dimensions,
+ * the board view may cover only a window of the board, see {@link com.andriienko.proxx.application.mapper.GameMapper#transformToGameView}.
+ */
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class GameView {
-    int revealedCellsNumber;
+    long gameId;
+    long revealedCellsNumber;
     int blackHolesNumber;
-    int size;
+    long size;
+    int rows;
+    int columns;
+    long seed;
     GameStatus status;
     BoardView boardView;
 }
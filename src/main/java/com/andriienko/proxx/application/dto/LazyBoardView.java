@@ -0,0 +1,88 @@
+package com.andriienko.proxx.application.dto;
+
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import lombok.ToString;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Snapshot of a window of the board which materializes a row only when a cell of the row is read for the first time,
+ * so memory and CPU scale with the rows actually read and not with the window size.
+ * <p>
+ * Materialized rows are kept and stay readable after the game is changed. Rows which were not read before a move
+ * could not be materialized consistently anymore, reading them fails fast with {@link ConcurrentModificationException}.
+ * Equality is inherited from {@link BoardView} and compares the cells.
+ */
+@ToString(callSuper = true, of = {"fromRow", "fromColumn", "version"})
+public class LazyBoardView extends BoardView {
+    private final Game game;
+    private final long version;
+    private final int fromRow;
+    private final int fromColumn;
+    private final CellView[][] materializedRows;
+
+    /**
+     * @param fromRow    - zero based board row of the window origin
+     * @param fromColumn - zero based board column of the window origin
+     * @param rows       - window height, should be within the board
+     * @param columns    - window width, should be within the board
+     */
+    public LazyBoardView(Game game, int fromRow, int fromColumn, int rows, int columns) {
+        super(rows, columns, null);
+        this.game = game;
+        this.version = game.getVersion();
+        this.fromRow = fromRow;
+        this.fromColumn = fromColumn;
+        this.materializedRows = new CellView[rows][];
+    }
+
+    @Override
+    public int getFromRow() {
+        return fromRow;
+    }
+
+    @Override
+    public int getFromColumn() {
+        return fromColumn;
+    }
+
+    @Override
+    public CellView getCellAt(int row, int column) {
+        return getRow(row)[column];
+    }
+
+    /**
+     * @return all cells, materializing the rows which were not read yet
+     */
+    @Override
+    public CellView[][] getCells() {
+        CellView[][] cells = new CellView[getRows()][];
+        for (int row = 0; row < getRows(); row++) {
+            cells[row] = getRow(row);
+        }
+        return cells;
+    }
+
+    private CellView[] getRow(int row) {
+        CellView[] cells = materializedRows[row];
+        if (cells == null) {
+            if (game.getVersion() != version) {
+                throw new ConcurrentModificationException("Board was changed before the row had been read");
+            }
+            cells = new CellView[getColumns()];
+            Board board = game.getBoard();
+            for (int column = 0; column < cells.length; column++) {
+                int adjacentBlackHolesCount = board.getAdjacentBlackHolesCountAt(fromRow + row, fromColumn + column);
+                cells[column] = CellView.of(
+                        adjacentBlackHolesCount,
+                        board.isBlackHoleAt(fromRow + row, fromColumn + column),
+                        board.isRevealedAt(fromRow + row, fromColumn + column),
+                        adjacentBlackHolesCount == 0
+                );
+            }
+            materializedRows[row] = cells;
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,65 @@
+package com.andriienko.proxx.application.dto;
+
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.ConcurrentModificationException;
+
+/**
+ * Read-only projection over the live board of a game: nothing is copied, every cell is read from the board storage
+ * on access and served as a shared {@link CellView}, so reading a cell allocates nothing.
+ * <p>
+ * The view remembers the version of the game it was taken at. Once the game is changed by a move every read fails fast
+ * with {@link ConcurrentModificationException}, so a view never mixes states of different moves.
+ * <p>
+ * Neither the board nor the version is read with any memory barrier, so the check is reliable only on the thread making the moves.
+ * The view should be read only by the thread running the commands of the game, e.g. inside its mailbox, see
+ * {@link com.andriienko.proxx.application.service.GameMailboxes}, and never handed to other threads.
+ */
+@ToString(callSuper = true, of = "version")
+@EqualsAndHashCode(callSuper = false)
+public class LiveBoardView extends BoardView {
+    private final Game game;
+    private final long version;
+
+    public LiveBoardView(Game game) {
+        super(game.getBoard().getRows(), game.getBoard().getColumns(), null);
+        this.game = game;
+        this.version = game.getVersion();
+    }
+
+    @Override
+    public CellView getCellAt(int row, int column) {
+        checkVersion();
+        Board board = game.getBoard();
+        int adjacentBlackHolesCount = board.getAdjacentBlackHolesCountAt(row, column);
+        return CellView.of(
+                adjacentBlackHolesCount,
+                board.isBlackHoleAt(row, column),
+                board.isRevealedAt(row, column),
+                adjacentBlackHolesCount == 0
+        );
+    }
+
+    /**
+     * @return copy of all cells, rows arrays are the only allocation
+     */
+    @Override
+    public CellView[][] getCells() {
+        CellView[][] cells = new CellView[getRows()][getColumns()];
+        for (int row = 0; row < getRows(); row++) {
+            for (int column = 0; column < getColumns(); column++) {
+                cells[row][column] = getCellAt(row, column);
+            }
+        }
+        return cells;
+    }
+
+    private void checkVersion() {
+        if (game.getVersion() != version) {
+            throw new ConcurrentModificationException("Board was changed after the view had been taken");
+        }
+    }
+}
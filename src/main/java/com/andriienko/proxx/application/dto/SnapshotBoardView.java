@@ -0,0 +1,44 @@
+package com.andriienko.proxx.application.dto;
+
+import com.andriienko.proxx.domain.BoardSnapshot;
+import lombok.ToString;
+
+/**
+ * View of a {@link BoardSnapshot}: the board is copied once as a byte per cell and cells are served as shared
+ * {@link CellView}s on access, so the view stays valid after the game is changed and reading a cell allocates nothing.
+ * Equality is inherited from {@link BoardView} and compares the cells.
+ */
+@ToString(callSuper = true, of = {})
+public class SnapshotBoardView extends BoardView {
+    private final BoardSnapshot snapshot;
+
+    public SnapshotBoardView(BoardSnapshot snapshot) {
+        super(snapshot.getRows(), snapshot.getColumns(), null);
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public CellView getCellAt(int row, int column) {
+        int adjacentBlackHolesCount = snapshot.getAdjacentBlackHolesCountAt(row, column);
+        return CellView.of(
+                adjacentBlackHolesCount,
+                snapshot.isBlackHoleAt(row, column),
+                snapshot.isRevealedAt(row, column),
+                adjacentBlackHolesCount == 0
+        );
+    }
+
+    /**
+     * @return copy of all cells, rows arrays are the only allocation
+     */
+    @Override
+    public CellView[][] getCells() {
+        CellView[][] cells = new CellView[getRows()][getColumns()];
+        for (int row = 0; row < getRows(); row++) {
+            for (int column = 0; column < getColumns(); column++) {
+                cells[row][column] = getCellAt(row, column);
+            }
+        }
+        return cells;
+    }
+}
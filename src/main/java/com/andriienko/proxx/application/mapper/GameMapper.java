@@ -1,44 +1,144 @@
 package com.andriienko.proxx.application.mapper;
 
 import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.CellChange;
 import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.dto.LazyBoardView;
+import com.andriienko.proxx.application.dto.LiveBoardView;
+import com.andriienko.proxx.application.dto.SnapshotBoardView;
 import com.andriienko.proxx.domain.Board;
-import com.andriienko.proxx.domain.Cell;
 import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.RevealLog;
+import com.andriienko.proxx.enums.BoardMode;
+
+import java.util.ArrayList;
+import java.util.List;
 
 
 public class GameMapper {
+    private static final int CHUNKED_WINDOW_SIDE = 100;
 
-    public GameView transformToGameView(Game game) {
-        return new GameView(
+    /**
+     * Maps the game with a snapshot of the board, see {@link SnapshotBoardView}, which stays valid after later moves.
+     * Chunked boards are too large to be copied, their views are snapshots of a window of at most
+     * {@value #CHUNKED_WINDOW_SIDE}x{@value #CHUNKED_WINDOW_SIDE} cells around the last move, materialized by the mapping,
+     * the board dimensions are kept by the {@link GameView}
+     */
+    public GameView transformToGameView(long gameId, Game game) {
+        BoardView boardView = game.getBoard().getMode() == BoardMode.CHUNKED
+                ? transformToWindowSnapshot(game)
+                : new SnapshotBoardView(game.getBoard().snapshot());
+        return transformToGameView(gameId, game, boardView);
+    }
+
+    /**
+     * Maps the game without copying the board, the board view fails fast once the game is changed, see {@link LiveBoardView}.
+     * The view is not safe to read concurrently with moves, it should be read only by the thread running the commands of the game
+     */
+    public GameView transformToLiveGameView(long gameId, Game game) {
+        return transformToGameView(gameId, game, transformToLiveBoardView(game));
+    }
+
+    /**
+     * Maps only the cells revealed by the last move, so the cost depends on the number of changed cells and not on the board size
+     */
+    public GameDelta transformToGameDelta(long gameId, Game game) {
+        Board board = game.getBoard();
+        RevealLog revealLog = game.getRevealLog();
+        List<CellChange> changedCells = new ArrayList<>(revealLog.size());
+        for (int position = 0; position < revealLog.size(); position++) {
+            long index = revealLog.getIndex(position);
+            int row = (int) (index / board.getColumns());
+            int column = (int) (index - (long) row * board.getColumns());
+            changedCells.add(new CellChange(row, column, transformToCellView(board, row, column)));
+        }
+        return new GameDelta(
+                gameId,
                 game.getRevealedCellsNumber(),
                 game.getBlackHolesNumber(),
                 game.getSize(),
                 game.getStatus(),
-                transformToBoardView(game)
+                revealLog.isOverflowed(),
+                changedCells
         );
     }
 
+    /**
+     * Projects the live board without copying it, the view fails fast once the game is changed, see {@link LiveBoardView}.
+     * The view is not safe to read concurrently with moves, it should be read only by the thread running the commands of the game
+     */
+    public BoardView transformToLiveBoardView(Game game) {
+        return new LiveBoardView(game);
+    }
+
     public BoardView transformToBoardView(Game game) {
         Board board = game.getBoard();
+        return transformToBoardView(game, 0, 0, board.getRows(), board.getColumns());
+    }
 
-        CellView[][] cells = new CellView[board.getRows()][board.getColumns()];
-        for (int row = 0; row < board.getRows(); row++) {
-            for (int col = 0; col < board.getColumns(); col++) {
-                Cell cell = board.getCellAt(row, col);
-                cells[row][col] = new CellView(
-                        cell.getAdjacentBlackHolesCount(),
-                        cell.isBlackHole(),
-                        cell.isRevealed(),
-                        cell.isEmpty()
-                );
-            }
+    /**
+     * Maps only a window of the board, so the cost depends on the window and not on the board size.
+     * Rows of the window are materialized lazily, when they are read for the first time, see {@link LazyBoardView}.
+     * Cells of the returned view are indexed relatively to the window origin.
+     *
+     * @param fromRow    - zero based row of the window origin
+     * @param fromColumn - zero based column of the window origin
+     * @param rows       - window height, cut to the board boundaries
+     * @param columns    - window width, cut to the board boundaries
+     */
+    public BoardView transformToBoardView(Game game, int fromRow, int fromColumn, int rows, int columns) {
+        Board board = game.getBoard();
+        int windowRows = Math.max(0, Math.min(rows, board.getRows() - fromRow));
+        int windowColumns = Math.max(0, Math.min(columns, board.getColumns() - fromColumn));
+        return new LazyBoardView(game, fromRow, fromColumn, windowRows, windowColumns);
+    }
+
+    /**
+     * @return window of the board centred on the last move, or the top left window before the first move, with all rows materialized
+     */
+    private BoardView transformToWindowSnapshot(Game game) {
+        Board board = game.getBoard();
+        int fromRow = 0;
+        int fromColumn = 0;
+        if (game.getLastMoveIndex() >= 0) {
+            int row = (int) (game.getLastMoveIndex() / board.getColumns());
+            int column = (int) (game.getLastMoveIndex() - (long) row * board.getColumns());
+            fromRow = Math.max(0, Math.min(row - CHUNKED_WINDOW_SIDE / 2, board.getRows() - CHUNKED_WINDOW_SIDE));
+            fromColumn = Math.max(0, Math.min(column - CHUNKED_WINDOW_SIDE / 2, board.getColumns() - CHUNKED_WINDOW_SIDE));
         }
-        return new BoardView(
-                board.getRows(),
-                board.getColumns(),
-                cells
+        BoardView window = transformToBoardView(game, fromRow, fromColumn, CHUNKED_WINDOW_SIDE, CHUNKED_WINDOW_SIDE);
+        window.getCells();
+        return window;
+    }
+
+    private GameView transformToGameView(long gameId, Game game, BoardView boardView) {
+        return new GameView(
+                gameId,
+                game.getRevealedCellsNumber(),
+                game.getBlackHolesNumber(),
+                game.getSize(),
+                game.getBoard().getRows(),
+                game.getBoard().getColumns(),
+                game.getSeed(),
+                game.getStatus(),
+                boardView
+        );
+    }
+
+    /**
+     * Reads the cell state straight from the board storage, without creating a Cell object
+     *
+     * @return shared immutable view, so mapping a cell allocates nothing
+     */
+    private CellView transformToCellView(Board board, int row, int column) {
+        int adjacentBlackHolesCount = board.getAdjacentBlackHolesCountAt(row, column);
+        return CellView.of(
+                adjacentBlackHolesCount,
+                board.isBlackHoleAt(row, column),
+                board.isRevealedAt(row, column),
+                adjacentBlackHolesCount == 0
         );
     }
 }
@@ -1,9 +1,39 @@
 package com.andriienko.proxx.application.port.in;
 
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
 
+/**
+ * Every game is addressed by the id returned in its {@link GameView}, so one service could serve any number of players
+ */
 public interface PlayGameUseCase {
     GameView newGame(int rows, int columns, int blackHoles);
 
-    GameView revealCell(int row, int column);
+    /**
+     * Creates a game with a reproducible layout, the seed of any game is returned in its {@link GameView}
+     */
+    GameView newGame(int rows, int columns, int blackHoles, long seed);
+
+    GameView revealCell(long gameId, int row, int column);
+
+    /**
+     * Reveals the cell and returns only the cells changed by the move, together with counters and status
+     */
+    GameDelta revealCellDelta(long gameId, int row, int column);
+
+    /**
+     * @return full view of the game, e.g. when a delta requires a full refresh
+     */
+    GameView getGame(long gameId);
+
+    /**
+     * @return view of a window of the board, only the rows read from it are mapped
+     */
+    BoardView getBoardView(long gameId, int fromRow, int fromColumn, int rows, int columns);
+
+    /**
+     * Forgets the game, its id is no longer valid
+     */
+    void removeGame(long gameId);
 }
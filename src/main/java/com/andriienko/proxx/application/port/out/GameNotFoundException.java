@@ -0,0 +1,12 @@
+package com.andriienko.proxx.application.port.out;
+
+/**
+ * Thrown by {@link GameRepository} when there is no game with the requested id, e.g. it was deleted or never saved.
+ * It is an {@link IllegalArgumentException}, so callers which do not tell a missing game from other bad input keep working.
+ */
+public class GameNotFoundException extends IllegalArgumentException {
+
+    public GameNotFoundException(long gameId) {
+        super("There is no game with id " + gameId);
+    }
+}
@@ -3,6 +3,34 @@ package com.andriienko.proxx.application.port.out;
 import com.andriienko.proxx.domain.Game;
 
 public interface GameRepository {
-    Game get();
-    Game save(Game game);
+    /**
+     * @throws GameNotFoundException when there is no game with the id
+     */
+    Game get(long gameId);
+
+    /**
+     * @return true if there is a game with the id, e.g. to reject commands addressed to unknown games before queuing them
+     */
+    default boolean contains(long gameId) {
+        try {
+            get(gameId);
+            return true;
+        } catch (GameNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return id of the saved game
+     */
+    long save(Game game);
+
+    void delete(long gameId);
+
+    /**
+     * Persists the last move of a saved game, a no-op for repositories which keep the games themselves.
+     * Cells revealed by the move are listed in {@link Game#getRevealLog()}.
+     */
+    default void update(long gameId, Game game) {
+    }
 }
@@ -0,0 +1,122 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.application.port.out.GameRepository;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs commands of every game one at a time, in submission order, while commands of different games run in parallel.
+ * <p>
+ * Every game gets a mailbox, a lock-free queue with a scheduled flag. A submit enqueues the command and, if the mailbox
+ * is idle, schedules a drain on the shared executor. A drain runs at most {@value #DRAIN_BATCH} commands and reschedules itself
+ * when more are left, so a busy game does not hold an executor thread from other games. Since at most one drain of a mailbox
+ * is scheduled at a time, commands of a game never overlap and every command sees the effects of the previous ones,
+ * whichever executor threads they run on. No lock is shared between games.
+ * <p>
+ * A mailbox exists only while the game has commands: it is created by the first command submitted to an idle game
+ * and removed by the drain which leaves it empty. Both happen atomically per game id in the map of mailboxes,
+ * so a command is never enqueued into a removed mailbox and a game never has two mailboxes at once.
+ * Commands addressed to games which are not in the repository fail without creating a mailbox,
+ * so neither forged ids nor finished games which are never removed leave mailboxes behind.
+ */
+public class GameMailboxes {
+    private static final int DRAIN_BATCH = 64;
+
+    private final Executor executor;
+    private final GameRepository gameRepository;
+    private final ConcurrentMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public GameMailboxes(Executor executor, GameRepository gameRepository) {
+        this.executor = executor;
+        this.gameRepository = gameRepository;
+    }
+
+    /**
+     * @return future completed with the result of the command, or exceptionally with anything thrown by it,
+     * errors included, so neither the caller nor the later commands of the game are left waiting.
+     * Completed exceptionally with {@link GameNotFoundException} right away when there is no game with the id
+     */
+    public <T> CompletableFuture<T> submit(long gameId, Supplier<T> command) {
+        if (!gameRepository.contains(gameId)) {
+            return CompletableFuture.failedFuture(new GameNotFoundException(gameId));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Mailbox mailbox = mailboxes.compute(gameId, (id, current) -> {
+            Mailbox target = current == null ? new Mailbox(id) : current;
+            target.commands.offer(() -> complete(result, command));
+            return target;
+        });
+        schedule(mailbox);
+        return result;
+    }
+
+    /**
+     * Runs a command which is not addressed to any existing game, e.g. creating a new one, on the shared executor
+     * without ordering it against other commands
+     *
+     * @return future completed the same way as by {@link #submit(long, Supplier)}
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> complete(result, command));
+        return result;
+    }
+
+    /**
+     * @return number of games which have a mailbox
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> command) {
+        try {
+            result.complete(command.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void schedule(Mailbox mailbox) {
+        if (!mailbox.commands.isEmpty() && mailbox.scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> drain(mailbox));
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        try {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Runnable command = mailbox.commands.poll();
+                if (command == null) {
+                    break;
+                }
+                command.run();
+            }
+        } finally {
+            mailbox.scheduled.set(false);
+            // removed only if it is still the mailbox of the game and is idle, a submit enqueues under the same key lock
+            mailboxes.computeIfPresent(mailbox.gameId, (id, current) ->
+                    current == mailbox && current.commands.isEmpty() && !current.scheduled.get() ? null : current);
+            // a command could be enqueued after the last poll but before the flag was cleared
+            schedule(mailbox);
+        }
+    }
+
+    private static class Mailbox {
+        private final long gameId;
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Mailbox(long gameId) {
+            this.gameId = gameId;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.PlayMode;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of ready-made games for every predefined {@link PlayMode}, filled in background.
+ * <p>
+ * Every mode keeps at most {@code highWatermark} games. When a take leaves fewer than {@code lowWatermark} games,
+ * a refill is submitted to the refill executor, which generates games until the high watermark is reached again.
+ * At most one refill per mode runs at a time.
+ * <p>
+ * Taking a game is O(1). When the pool of the mode is empty, or parameters do not match any predefined mode,
+ * the game is generated inline on the caller thread. Hits and misses are counted for predefined modes only,
+ * so the watermarks could be sized by the miss rate.
+ */
+public class GamePool {
+
+    private final GameFactory gameFactory;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final Executor refillExecutor;
+    private final Map<PlayMode, BlockingQueue<Game>> games = new EnumMap<>(PlayMode.class);
+    private final Map<PlayMode, AtomicBoolean> refilling = new EnumMap<>(PlayMode.class);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public GamePool(GameFactory gameFactory, int lowWatermark, int highWatermark, Executor refillExecutor) {
+        if (lowWatermark < 0 || highWatermark < 1 || lowWatermark > highWatermark) {
+            throw new IllegalArgumentException("Watermarks should satisfy 0 <= low <= high and high >= 1");
+        }
+        this.gameFactory = gameFactory;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.refillExecutor = refillExecutor;
+        for (PlayMode mode : PlayMode.values()) {
+            if (mode != PlayMode.CUSTOM) {
+                games.put(mode, new ArrayBlockingQueue<>(highWatermark));
+                refilling.put(mode, new AtomicBoolean());
+            }
+        }
+    }
+
+    /**
+     * Submits refills of all predefined modes up to the high watermark
+     */
+    public void warmUp() {
+        games.keySet().forEach(this::scheduleRefill);
+    }
+
+    /**
+     * @return pooled game if parameters match a predefined mode and its pool is not empty, otherwise a freshly generated game
+     */
+    public Game take(int rows, int columns, int blackHoles) {
+        PlayMode mode = findMode(rows, columns, blackHoles);
+        if (mode == null) {
+            return gameFactory.createGameWithRandomlyDistributedHoles(rows, columns, blackHoles);
+        }
+        BlockingQueue<Game> queue = games.get(mode);
+        Game game = queue.poll();
+        if (queue.size() < lowWatermark || game == null) {
+            scheduleRefill(mode);
+        }
+        if (game == null) {
+            misses.increment();
+            return gameFactory.createGameWithRandomlyDistributedHoles(rows, columns, blackHoles);
+        }
+        hits.increment();
+        return game;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of ready games of the mode
+     */
+    public int getSize(PlayMode mode) {
+        BlockingQueue<Game> queue = games.get(mode);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void scheduleRefill(PlayMode mode) {
+        AtomicBoolean inProgress = refilling.get(mode);
+        if (inProgress.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> refill(mode));
+        }
+    }
+
+    private void refill(PlayMode mode) {
+        BlockingQueue<Game> queue = games.get(mode);
+        try {
+            while (queue.size() < highWatermark) {
+                Game game = gameFactory.createGameWithRandomlyDistributedHoles(mode.getRows(), mode.getColumns(), mode.getBlackHoles());
+                if (!queue.offer(game)) {
+                    break;
+                }
+            }
+        } finally {
+            refilling.get(mode).set(false);
+        }
+        // takes that happened while the flag was still set did not schedule anything
+        if (queue.size() < lowWatermark) {
+            scheduleRefill(mode);
+        }
+    }
+
+    private PlayMode findMode(int rows, int columns, int blackHoles) {
+        for (PlayMode mode : games.keySet()) {
+            if (mode.getRows() == rows && mode.getColumns() == columns && mode.getBlackHoles() == blackHoles) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
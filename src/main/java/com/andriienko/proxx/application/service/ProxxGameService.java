@@ -1,5 +1,7 @@
 package com.andriienko.proxx.application.service;
 
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
 import com.andriienko.proxx.application.mapper.GameMapper;
 import com.andriienko.proxx.application.port.in.PlayGameUseCase;
@@ -11,6 +13,8 @@ import lombok.AllArgsConstructor;
 /**
  *   This is a Service(Application) Layer class, which primarily handles business logic and coordinating operations between the Domain and Data Access Layers.
  *   It also ensures that changes in one part of the system (e.g., how games are persisted) don't directly affect others (e.g., game logic).
+ *   <p>
+ *   New unseeded games are taken from {@link GamePool} when it is given, so the predefined modes are not generated on the request thread.
  */
 @AllArgsConstructor
 public class ProxxGameService implements PlayGameUseCase {
@@ -18,16 +22,47 @@ public class ProxxGameService implements PlayGameUseCase {
     private final GameFactory gameFactory;
     private final GameRepository gameRepository;
     private final GameMapper gameMapper;
+    private final GamePool gamePool;
+
+    public ProxxGameService(GameFactory gameFactory, GameRepository gameRepository, GameMapper gameMapper) {
+        this(gameFactory, gameRepository, gameMapper, null);
+    }
 
     public GameView newGame(int rows, int columns, int blackHoles) {
-        Game game = gameFactory.createGameWithRandomlyDistributedHoles(rows, columns, blackHoles);
-        gameRepository.save(game);
-        return gameMapper.transformToGameView(game);
+        Game game = gamePool != null
+                ? gamePool.take(rows, columns, blackHoles)
+                : gameFactory.createGameWithRandomlyDistributedHoles(rows, columns, blackHoles);
+        return gameMapper.transformToGameView(gameRepository.save(game), game);
+    }
+
+    public GameView newGame(int rows, int columns, int blackHoles, long seed) {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(rows, columns, blackHoles, seed);
+        return gameMapper.transformToGameView(gameRepository.save(game), game);
+    }
+
+    public GameView revealCell(long gameId, int row, int column) {
+        Game game = gameRepository.get(gameId);
+        game.revealCell(row, column);
+        gameRepository.update(gameId, game);
+        return gameMapper.transformToGameView(gameId, game);
     }
 
-    public GameView revealCell(int row, int column) {
-        Game game = gameRepository.get();
+    public GameDelta revealCellDelta(long gameId, int row, int column) {
+        Game game = gameRepository.get(gameId);
         game.revealCell(row, column);
-        return gameMapper.transformToGameView(game);
+        gameRepository.update(gameId, game);
+        return gameMapper.transformToGameDelta(gameId, game);
+    }
+
+    public GameView getGame(long gameId) {
+        return gameMapper.transformToGameView(gameId, gameRepository.get(gameId));
+    }
+
+    public BoardView getBoardView(long gameId, int fromRow, int fromColumn, int rows, int columns) {
+        return gameMapper.transformToBoardView(gameRepository.get(gameId), fromRow, fromColumn, rows, columns);
+    }
+
+    public void removeGame(long gameId) {
+        gameRepository.delete(gameId);
     }
 }
@@ -0,0 +1,91 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.GameDelta;
+import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import lombok.AllArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Makes {@link PlayGameUseCase} safe to call from many threads at once: every command addressed to a game
+ * is run through the mailbox of the game, see {@link GameMailboxes}, so moves of the same game never interleave
+ * and moves of different games run in parallel.
+ * <p>
+ * Game views are mapped inside the command, before the next move of the game could start. They carry snapshots of the board,
+ * or of a window of it for chunked boards, see {@link com.andriienko.proxx.application.mapper.GameMapper#transformToGameView},
+ * so they are passed as they are, without a second copy. No live view leaves the mailbox. Window views are materialized inside the command, their cost is bounded by the window.
+ * New games are created on the caller thread, they are not reachable by other threads before their id is returned.
+ */
+@AllArgsConstructor
+public class SerializedGameService implements PlayGameUseCase {
+
+    private final PlayGameUseCase gameService;
+    private final GameMailboxes mailboxes;
+
+    public GameView newGame(int rows, int columns, int blackHoles) {
+        return gameService.newGame(rows, columns, blackHoles);
+    }
+
+    public GameView newGame(int rows, int columns, int blackHoles, long seed) {
+        return gameService.newGame(rows, columns, blackHoles, seed);
+    }
+
+    public GameView revealCell(long gameId, int row, int column) {
+        return join(mailboxes.submit(gameId, () -> gameService.revealCell(gameId, row, column)));
+    }
+
+    public GameDelta revealCellDelta(long gameId, int row, int column) {
+        return join(revealCellDeltaAsync(gameId, row, column));
+    }
+
+    /**
+     * Same as {@link #revealCellDelta(long, int, int)}, but does not block the caller thread
+     */
+    public CompletableFuture<GameDelta> revealCellDeltaAsync(long gameId, int row, int column) {
+        return mailboxes.submit(gameId, () -> gameService.revealCellDelta(gameId, row, column));
+    }
+
+    public GameView getGame(long gameId) {
+        return join(mailboxes.submit(gameId, () -> gameService.getGame(gameId)));
+    }
+
+    public BoardView getBoardView(long gameId, int fromRow, int fromColumn, int rows, int columns) {
+        return join(mailboxes.submit(gameId, detached(() -> gameService.getBoardView(gameId, fromRow, fromColumn, rows, columns))));
+    }
+
+    public void removeGame(long gameId) {
+        join(mailboxes.submit(gameId, () -> {
+            gameService.removeGame(gameId);
+            return null;
+        }));
+    }
+
+    /**
+     * Window views keep the rows they have materialized, so reading all of them inside the command detaches the view
+     */
+    private static Supplier<BoardView> detached(Supplier<BoardView> boardView) {
+        return () -> {
+            BoardView view = boardView.get();
+            view.getCells();
+            return view;
+        };
+    }
+
+    private static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.andriienko.proxx.cli.input;
 
 import com.andriienko.proxx.enums.PlayMode;
+import com.andriienko.proxx.enums.ScrollDirection;
 
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public interface InputResolver {
     PlayMode getPlayMode();
     int getIntegerInput(Predicate<Integer> validatingPredicate, String promptMessage);
+
+    /**
+     * Same as {@link #getIntegerInput(Predicate, String)}, but also accepts scroll commands,
+     * each of them is passed to {@code scrollHandler} and the prompt is repeated
+     */
+    int getIntegerInputOrScroll(Predicate<Integer> validatingPredicate, String promptMessage, Consumer<ScrollDirection> scrollHandler);
 }
@@ -1,14 +1,17 @@
 package com.andriienko.proxx.cli.input.resolver;
 import com.andriienko.proxx.cli.input.InputResolver;
 import com.andriienko.proxx.enums.PlayMode;
+import com.andriienko.proxx.enums.ScrollDirection;
 import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
  * This class is responsible for resolving the inputs from the console.
  * It provides methods to get play mode and other integer inputs from the user via the console.
  * It encapsulates the logic of user interaction and input validation, thus separating the concern of user input from other parts of the application.
- * This class also manages the termination of the game if the user wishes to quit.
+ * This class also manages the termination of the game if the user wishes to quit,
+ * and recognizes w, a, s, d scroll commands where the board could be scrolled.
  */
 public class ConsoleInputResolver implements InputResolver {
     private final Scanner scanner;
@@ -45,6 +48,26 @@ public class ConsoleInputResolver implements InputResolver {
         }
         return input;
     }
+
+    public int getIntegerInputOrScroll(Predicate<Integer> predicate, String promptMessage, Consumer<ScrollDirection> scrollHandler) {
+        int input = 0;
+        while (!predicate.test(input)) {
+            System.out.print(promptMessage);
+            if (!scanner.hasNextInt()) {
+                String command = getStringOrQuit().trim();
+                for (ScrollDirection direction : ScrollDirection.values()) {
+                    if (direction.getCommand().equalsIgnoreCase(command)) {
+                        scrollHandler.accept(direction);
+                    }
+                }
+            } else {
+                input = scanner.nextInt();
+                scanner.nextLine();
+            }
+        }
+        return input;
+    }
+
     private String getStringOrQuit() {
         String input = scanner.nextLine();
         if (input.equalsIgnoreCase("q")) {
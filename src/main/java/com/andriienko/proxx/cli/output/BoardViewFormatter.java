@@ -2,6 +2,18 @@ package com.andriienko.proxx.cli.output;
 
 import com.andriienko.proxx.application.dto.BoardView;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface BoardViewFormatter {
     String format(BoardView boardView);
+
+    /**
+     * Writes the UTF-8 encoded board into {@code out} without flushing it.
+     * Formatters which could stream the frame should override it, by default the formatted String is encoded.
+     */
+    default void format(BoardView boardView, OutputStream out) throws IOException {
+        out.write(format(boardView).getBytes(StandardCharsets.UTF_8));
+    }
 }
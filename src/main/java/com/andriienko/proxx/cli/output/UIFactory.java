@@ -2,8 +2,16 @@ package com.andriienko.proxx.cli.output;
 
 import com.andriienko.proxx.application.dto.BoardView;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 public interface UIFactory {
     String createMainMenu();
     String createBanner();
     String createBoard(BoardView gameView);
+
+    /**
+     * Streams the board into a caller supplied, preferably buffered, stream instead of building a String
+     */
+    void writeBoard(BoardView boardView, OutputStream out) throws IOException;
 }
@@ -0,0 +1,81 @@
+package com.andriienko.proxx.cli.output;
+
+import com.andriienko.proxx.enums.ScrollDirection;
+import lombok.Getter;
+
+/**
+ * Visible window of a board which could be larger than the terminal.
+ * The window never leaves the board: scrolling and centring are clamped to the board boundaries.
+ */
+@Getter
+public class Viewport {
+    // every cell takes 3 characters and a separator, row labels take 4 characters on both sides
+    private static final int CELL_WIDTH = 4;
+    private static final int LABELS_WIDTH = 8;
+    // column labels above and below the board, blank lines, the status line and the input prompt
+    private static final int FRAME_HEIGHT = 9;
+    // size of a classic terminal, assumed when the real size is unknown
+    private static final int DEFAULT_TERMINAL_ROWS = 24;
+    private static final int DEFAULT_TERMINAL_COLUMNS = 80;
+
+    private final int boardRows;
+    private final int boardColumns;
+    private final int rows;
+    private final int columns;
+    private int fromRow;
+    private int fromColumn;
+
+    /**
+     * @param maxRows    - maximal visible rows, cut to the board height
+     * @param maxColumns - maximal visible columns, cut to the board width
+     */
+    public Viewport(int boardRows, int boardColumns, int maxRows, int maxColumns) {
+        this.boardRows = boardRows;
+        this.boardColumns = boardColumns;
+        this.rows = Math.min(boardRows, maxRows);
+        this.columns = Math.min(boardColumns, maxColumns);
+    }
+
+    /**
+     * Creates a window of as many cells as the terminal holds next to the labels, status and prompt of a frame.
+     * When the size of the terminal is unknown a classic {@value #DEFAULT_TERMINAL_ROWS}x{@value #DEFAULT_TERMINAL_COLUMNS}
+     * terminal is assumed, so the cost of a frame stays bounded whatever the board size is.
+     *
+     * @param terminalRows    - lines of the terminal, not positive if unknown
+     * @param terminalColumns - characters in a line of the terminal, not positive if unknown
+     */
+    public static Viewport forTerminal(int boardRows, int boardColumns, int terminalRows, int terminalColumns) {
+        int maxRows = Math.max(1, (terminalRows > 0 ? terminalRows : DEFAULT_TERMINAL_ROWS) - FRAME_HEIGHT);
+        int maxColumns = Math.max(1, ((terminalColumns > 0 ? terminalColumns : DEFAULT_TERMINAL_COLUMNS) - LABELS_WIDTH) / CELL_WIDTH);
+        return new Viewport(boardRows, boardColumns, maxRows, maxColumns);
+    }
+
+    /**
+     * @return true if some cells of the board are not visible
+     */
+    public boolean isPartial() {
+        return rows < boardRows || columns < boardColumns;
+    }
+
+    /**
+     * Moves the window by half of its size in the given direction
+     */
+    public void scroll(ScrollDirection direction) {
+        moveTo(fromRow + direction.getRows() * Math.max(1, rows / 2), fromColumn + direction.getColumns() * Math.max(1, columns / 2));
+    }
+
+    /**
+     * Moves the window so the cell is in its middle, as far as the board boundaries allow
+     *
+     * @param row    - zero based board row
+     * @param column - zero based board column
+     */
+    public void centerOn(int row, int column) {
+        moveTo(row - rows / 2, column - columns / 2);
+    }
+
+    private void moveTo(int row, int column) {
+        fromRow = Math.max(0, Math.min(row, boardRows - rows));
+        fromColumn = Math.max(0, Math.min(column, boardColumns - columns));
+    }
+}
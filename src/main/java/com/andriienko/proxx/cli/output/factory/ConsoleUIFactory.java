@@ -5,6 +5,9 @@ import com.andriienko.proxx.cli.output.BoardViewFormatter;
 import com.andriienko.proxx.cli.output.UIFactory;
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 
 /**
  *  This class is part of the application's output handling mechanism, focusing on creating a user interface for console-based execution.
@@ -19,7 +22,8 @@ public class ConsoleUIFactory implements UIFactory {
                 1. Easy
                 2. Medium
                 3. Expert
-                4. Custom: side is from 3 to 50 and black holes number... Well at least leave 1 cell
+                4. Custom: side is from 3 to 100 and black holes number... Well at least leave 1 cell
+                Boards larger than the screen are scrolled by w, a, s, d at the Row and Col prompts
                 """;
     }
 
@@ -40,4 +44,8 @@ public class ConsoleUIFactory implements UIFactory {
     public String createBoard(BoardView boardView) {
         return boardViewFormatter.format(boardView);
     }
+
+    public void writeBoard(BoardView boardView, OutputStream out) throws IOException {
+        boardViewFormatter.format(boardView, out);
+    }
 }
@@ -11,7 +11,7 @@ import java.util.StringJoiner;
 /**
  * This class formats the entire game board into a colored string representation that can be printed to the console.
  * It leverages the ColorCellViewFormatter to format each cell of the board.
- * It also includes additional formatting logic for printing row and column numbers.
+ * It also includes additional formatting logic for printing row and column numbers, which are board numbers when the view is a window of the board.
  * The purpose of this class is to transform the BoardView data object into a human-readable, console-compatible format.
  */
 @AllArgsConstructor
@@ -26,7 +26,7 @@ public class ColorBoardViewFormatter implements BoardViewFormatter {
         //Print column numbers above the board
         StringJoiner topColumnNumbers = new StringJoiner(" ");
         for (int column = 0; column < boardView.getColumns(); column++) {
-            topColumnNumbers.add(String.format("%-3d", column + 1));
+            topColumnNumbers.add(String.format("%-3d", boardView.getFromColumn() + column + 1));
         }
         sb.append("    ").append(topColumnNumbers).append("\n");
 
@@ -34,14 +34,14 @@ public class ColorBoardViewFormatter implements BoardViewFormatter {
         for (int row = 0; row < boardView.getRows(); row++) {
 
             // Print the row number at the start of each row, left-justified in a field of 4 characters wide
-            String formattedRowNumber = String.format("%-4d", row + 1);
+            String formattedRowNumber = String.format("%-4d", boardView.getFromRow() + row + 1);
             sb.append(formattedRowNumber);
 
             StringJoiner stringJoiner = new StringJoiner(" ", "", formattedRowNumber + "\n");
             for (int column = 0; column < boardView.getColumns(); column++) {
 
                 // Print each cell
-                CellView cell = boardView.getCells()[row][column];
+                CellView cell = boardView.getCellAt(row, column);
                 stringJoiner.add(cellFormatter.createCellView(cell));
             }
             sb.append(stringJoiner);
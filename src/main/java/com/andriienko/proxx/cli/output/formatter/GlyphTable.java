@@ -0,0 +1,50 @@
+package com.andriienko.proxx.cli.output.formatter;
+
+import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.cli.output.CellViewFormatter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Padded, coloured text of every visible cell state, produced once by a {@link CellViewFormatter}.
+ * A state is addressed by its index: adjacent black holes count * 8 + black hole, revealed and empty flags.
+ * Every glyph is also kept encoded to UTF-8, so streams could be written without encoding anything per cell.
+ */
+public class GlyphTable {
+    public static final int SIZE = 72;
+    private static final int MAX_ADJACENT_BLACK_HOLES = 8;
+    private static final int FLAGS = 8;
+
+    private final String[] glyphs = new String[SIZE];
+    private final byte[][] encodedGlyphs = new byte[SIZE][];
+
+    public GlyphTable(CellViewFormatter cellFormatter) {
+        for (int count = 0; count <= MAX_ADJACENT_BLACK_HOLES; count++) {
+            for (int flags = 0; flags < FLAGS; flags++) {
+                int index = count * FLAGS + flags;
+                glyphs[index] = cellFormatter.createCellView(CellView.of(count, (flags & 4) != 0, (flags & 2) != 0, (flags & 1) != 0));
+                encodedGlyphs[index] = glyphs[index].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    public static int indexOf(CellView cell) {
+        int flags = (cell.isBlackHole() ? 4 : 0) | (cell.isRevealed() ? 2 : 0) | (cell.isEmpty() ? 1 : 0);
+        return cell.getAdjacentBlackHolesCount() * FLAGS + flags;
+    }
+
+    public String glyph(int index) {
+        return glyphs[index];
+    }
+
+    public String glyph(CellView cell) {
+        return glyphs[indexOf(cell)];
+    }
+
+    /**
+     * @return UTF-8 bytes of the glyph, shared, must not be modified
+     */
+    public byte[] encodedGlyph(int index) {
+        return encodedGlyphs[index];
+    }
+}
@@ -0,0 +1,99 @@
+package com.andriienko.proxx.cli.output.formatter;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.cli.output.BoardViewFormatter;
+import com.andriienko.proxx.cli.output.CellViewFormatter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Produces the same text as {@link ColorBoardViewFormatter}, without formatting anything per frame.
+ * <p>
+ * The padded, coloured text of every visible cell state is produced once by the cell formatter and kept in a {@link GlyphTable}
+ * already encoded to UTF-8, row and column labels are encoded once per window of the board. Each frame is then streamed
+ * by plain byte writes, either to a caller supplied stream or into one reusable buffer when a String is requested.
+ * <p>
+ * Not thread safe: labels and the buffer are shared between frames.
+ */
+public class GlyphTableBoardViewFormatter implements BoardViewFormatter {
+    private static final byte[] MARGIN = "    ".getBytes(StandardCharsets.UTF_8);
+
+    private final GlyphTable glyphs;
+    private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+    private byte[][] rowLabels = new byte[0][];
+    private int labelledFromRow = -1;
+    private byte[] columnLabels = new byte[0];
+    private int labelledFromColumn = -1;
+    private int labelledColumns = -1;
+
+    public GlyphTableBoardViewFormatter(CellViewFormatter cellFormatter) {
+        this.glyphs = new GlyphTable(cellFormatter);
+    }
+
+    @Override
+    public String format(BoardView boardView) {
+        frame.reset();
+        try {
+            format(boardView, frame);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return frame.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the frame straight into {@code out}, nothing but the labels of a new window is allocated.
+     * The stream is not flushed, it is supposed to be buffered by the caller.
+     */
+    @Override
+    public void format(BoardView boardView, OutputStream out) throws IOException {
+        int rows = boardView.getRows();
+        int columns = boardView.getColumns();
+        prepareLabels(boardView.getFromRow(), rows, boardView.getFromColumn(), columns);
+
+        out.write(MARGIN);
+        out.write(columnLabels);
+        out.write('\n');
+        for (int row = 0; row < rows; row++) {
+            byte[] rowLabel = rowLabels[row];
+            out.write(rowLabel);
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    out.write(' ');
+                }
+                out.write(glyphs.encodedGlyph(GlyphTable.indexOf(boardView.getCellAt(row, column))));
+            }
+            out.write(rowLabel);
+            out.write('\n');
+        }
+        out.write(MARGIN);
+        out.write(columnLabels);
+        out.write('\n');
+    }
+
+    private void prepareLabels(int fromRow, int rows, int fromColumn, int columns) {
+        if (labelledFromRow != fromRow || rowLabels.length != rows) {
+            rowLabels = new byte[rows][];
+            for (int row = 0; row < rows; row++) {
+                rowLabels[row] = String.format("%-4d", fromRow + row + 1).getBytes(StandardCharsets.UTF_8);
+            }
+            labelledFromRow = fromRow;
+        }
+        if (labelledFromColumn != fromColumn || labelledColumns != columns) {
+            StringBuilder labels = new StringBuilder();
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    labels.append(' ');
+                }
+                labels.append(String.format("%-3d", fromColumn + column + 1));
+            }
+            columnLabels = labels.toString().getBytes(StandardCharsets.UTF_8);
+            labelledFromColumn = fromColumn;
+            labelledColumns = columns;
+        }
+    }
+}
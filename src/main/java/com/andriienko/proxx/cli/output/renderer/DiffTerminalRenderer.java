@@ -0,0 +1,140 @@
+package com.andriienko.proxx.cli.output.renderer;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.cli.output.CellViewFormatter;
+import com.andriienko.proxx.cli.output.formatter.GlyphTable;
+import com.andriienko.proxx.cli.output.formatter.GlyphTableBoardViewFormatter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Draws the board on an ANSI terminal and redraws only what changed.
+ * <p>
+ * The first frame, or a frame of another size or window origin, is painted in full after clearing the screen. The renderer remembers
+ * the glyph of every cell it has drawn. For the next frames it moves the cursor to each cell whose glyph changed
+ * and writes only that glyph, then rewrites the status line and clears the prompts printed below it.
+ * So the bytes written per move are proportional to the number of changed cells, not to the board size.
+ * <p>
+ * Frames are streamed as pre-encoded UTF-8 bytes through a fixed size buffer, flushed once per frame,
+ * so rendering memory does not depend on the board size.
+ * <p>
+ * Layout of the screen (1-based lines): 3 empty lines, column labels, board rows, column labels, empty line, status line,
+ * empty line and the prompts. Every cell takes {@link #CELL_WIDTH} visible columns after a row label of the same width,
+ * which matches {@link com.andriienko.proxx.cli.output.formatter.ColorCellViewFormatter} glyphs.
+ */
+public class DiffTerminalRenderer {
+    static final int CELL_WIDTH = 4;
+    private static final int TOP_MARGIN = 3;
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] CLEAR_SCREEN = ascii("\u001B[H\u001B[2J\n\n\n");
+    private static final byte[] CLEAR_LINE = ascii("\u001B[2K");
+    private static final byte[] CLEAR_TO_END_OF_SCREEN = ascii("\u001B[J");
+
+    private final GlyphTable glyphs;
+    private final GlyphTableBoardViewFormatter boardFormatter;
+    private final OutputStream out;
+    private final byte[] digits = new byte[10];
+    private byte[] lastGlyphs;
+    private int rows;
+    private int columns;
+    private int fromRow;
+    private int fromColumn;
+
+    public DiffTerminalRenderer(CellViewFormatter cellFormatter, OutputStream out) {
+        this.glyphs = new GlyphTable(cellFormatter);
+        this.boardFormatter = new GlyphTableBoardViewFormatter(cellFormatter);
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Forgets the last frame, e.g. after the screen was cleared by somebody else, so the next frame is painted in full
+     */
+    public void reset() {
+        lastGlyphs = null;
+    }
+
+    public void render(BoardView boardView, String statusLine) {
+        try {
+            if (lastGlyphs == null || rows != boardView.getRows() || columns != boardView.getColumns()
+                    || fromRow != boardView.getFromRow() || fromColumn != boardView.getFromColumn()) {
+                paintFull(boardView, statusLine);
+            } else {
+                paintChanges(boardView, statusLine);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void paintFull(BoardView boardView, String statusLine) throws IOException {
+        rows = boardView.getRows();
+        columns = boardView.getColumns();
+        fromRow = boardView.getFromRow();
+        fromColumn = boardView.getFromColumn();
+        lastGlyphs = new byte[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                lastGlyphs[row * columns + column] = (byte) GlyphTable.indexOf(boardView.getCellAt(row, column));
+            }
+        }
+        out.write(CLEAR_SCREEN);
+        boardFormatter.format(boardView, out);
+        out.write('\n');
+        out.write(statusLine.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.write('\n');
+    }
+
+    private void paintChanges(BoardView boardView, String statusLine) throws IOException {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                byte glyph = (byte) GlyphTable.indexOf(boardView.getCellAt(row, column));
+                if (glyph != lastGlyphs[row * columns + column]) {
+                    lastGlyphs[row * columns + column] = glyph;
+                    moveCursor(cellLine(row), CELL_WIDTH * (column + 1) + 1);
+                    out.write(glyphs.encodedGlyph(glyph));
+                }
+            }
+        }
+        moveCursor(statusLine(), 1);
+        out.write(CLEAR_LINE);
+        out.write(statusLine.getBytes(StandardCharsets.UTF_8));
+        moveCursor(statusLine() + 2, 1);
+        out.write(CLEAR_TO_END_OF_SCREEN);
+    }
+
+    private int cellLine(int row) {
+        return TOP_MARGIN + 2 + row;
+    }
+
+    private int statusLine() {
+        return TOP_MARGIN + rows + 4;
+    }
+
+    private void moveCursor(int line, int column) throws IOException {
+        out.write(0x1B);
+        out.write('[');
+        writeNumber(line);
+        out.write(';');
+        writeNumber(column);
+        out.write('H');
+    }
+
+    private void writeNumber(int value) throws IOException {
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        out.write(digits, position, digits.length - position);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
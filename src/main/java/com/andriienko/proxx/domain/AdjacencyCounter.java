@@ -0,0 +1,64 @@
+package com.andriienko.proxx.domain;
+
+import java.util.Arrays;
+
+/**
+ * Computes adjacency counts of a whole board in one sequential pass, after all black holes have been marked.
+ * <p>
+ * The pass keeps a sliding window of three rows of black hole flags (0 or 1 per column, padded with one zero column
+ * on both sides). For every row the flags are summed vertically, then every count is the sum of three neighbouring
+ * vertical sums minus the cell itself, i.e. a 3x3 box sum. Each row is read and written once, in order, so the cost
+ * is linear in the board size and independent of the number of black holes.
+ * <p>
+ * Row operations are delegated to a {@link BoardKernel}, the vector one when the Vector API is available.
+ */
+class AdjacencyCounter {
+    private final BoardKernel kernel;
+
+    AdjacencyCounter() {
+        this(BoardKernels.get());
+    }
+
+    AdjacencyCounter(BoardKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    void countAdjacentBlackHoles(Board board) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        byte[] states = new byte[columns];
+        byte[] above = new byte[columns + 2];
+        byte[] current = new byte[columns + 2];
+        byte[] below = new byte[columns + 2];
+        byte[] counts = new byte[columns];
+
+        board.readRow(0, states);
+        kernel.extractBlackHoles(states, current, columns);
+        for (int row = 0; row < rows; row++) {
+            if (row + 1 < rows) {
+                board.readRow(row + 1, states);
+                kernel.extractBlackHoles(states, below, columns);
+            } else {
+                Arrays.fill(below, (byte) 0);
+            }
+            countRow(above, current, below, counts, columns);
+
+            board.readRow(row, states);
+            kernel.mergeAdjacentBlackHoles(states, counts, columns);
+            board.writeRow(row, states);
+
+            byte[] recycled = above;
+            above = current;
+            current = below;
+            below = recycled;
+        }
+    }
+
+    /**
+     * 8-neighbour black hole count of one row.
+     * Flag rows are padded: column c of the board is element c + 1 of {@code above}, {@code current} and {@code below}.
+     */
+    void countRow(byte[] above, byte[] current, byte[] below, byte[] counts, int columns) {
+        kernel.countAdjacentBlackHoles(above, current, below, counts, columns);
+    }
+}
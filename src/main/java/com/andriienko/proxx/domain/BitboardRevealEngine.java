@@ -0,0 +1,224 @@
+package com.andriienko.proxx.domain;
+
+import java.util.Arrays;
+
+/**
+ * Reveals empty regions with word parallel operations over row bitsets.
+ * <p>
+ * Every board row is stored as {@code wordsPerRow} longs, bit {@code j} of word {@code w} is column {@code w * 64 + j}.
+ * The engine keeps three masks: empty cells, black holes and cells revealed so far.
+ * The masks are built from the board on first use and rebuilt after {@link #onBoardChanged()}.
+ * <p>
+ * A reveal grows the region from the root cell until a fixpoint:
+ * <p>1) cells of the neighbouring rows are dilated by one column and used as seeds for the current row
+ * <p>2) seeds are extended along the runs of empty cells of the row with a single carry propagating addition per word
+ * <p>3) rows are swept top-down and bottom-up, in place, until nothing changes
+ * <p>Then the one cell border of numbered cells is added with a final dilation and the popcount of
+ * not yet revealed bits is returned. This final masking is done by a {@link BoardKernel}, vectorized when the
+ * Vector API is available. Every revealed cell is recorded in the {@link RevealLog} of the game.
+ */
+class BitboardRevealEngine implements RevealEngine {
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private final Board board;
+    private final RevealLog revealLog;
+    private final BoardKernel kernel = BoardKernels.get();
+    private final int rows;
+    private final int columns;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+
+    private final long[] empty;
+    private final long[] blackHoles;
+    private final long[] revealed;
+    private final long[] region;
+    private final long[] seeds;
+    private boolean masksValid;
+
+    BitboardRevealEngine(Board board) {
+        this(board, new RevealLog());
+    }
+
+    BitboardRevealEngine(Board board, RevealLog revealLog) {
+        this.board = board;
+        this.revealLog = revealLog;
+        this.rows = board.getRows();
+        this.columns = board.getColumns();
+        this.wordsPerRow = (columns + WORD_SIZE - 1) / WORD_SIZE;
+        int tail = columns % WORD_SIZE;
+        this.lastWordMask = tail == 0 ? -1L : (1L << tail) - 1;
+
+        int words = rows * wordsPerRow;
+        this.empty = new long[words];
+        this.blackHoles = new long[words];
+        this.revealed = new long[words];
+        this.region = new long[words];
+        this.seeds = new long[wordsPerRow];
+    }
+
+    @Override
+    public void onBoardChanged() {
+        masksValid = false;
+    }
+
+    @Override
+    public long revealSafeCells(int row, int column) {
+        if (!masksValid) {
+            buildMasks();
+        }
+        int rootWord = row * wordsPerRow + column / WORD_SIZE;
+        long rootBit = 1L << (column % WORD_SIZE);
+        if ((blackHoles[rootWord] & rootBit) != 0 || (revealed[rootWord] & rootBit) != 0) {
+            return 0;
+        }
+        if ((empty[rootWord] & rootBit) == 0) {
+            revealed[rootWord] |= rootBit;
+            long index = board.indexOf(row, column);
+            board.setState(index, CellState.markAsRevealed(board.getState(index)));
+            revealLog.record(index);
+            return 1;
+        }
+
+        region[rootWord] = rootBit;
+        int minRow = row;
+        int maxRow = row;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int r = Math.max(0, minRow - 1); r <= Math.min(rows - 1, maxRow + 1); r++) {
+                if (growRow(r)) {
+                    changed = true;
+                    minRow = Math.min(minRow, r);
+                    maxRow = Math.max(maxRow, r);
+                }
+            }
+            for (int r = Math.min(rows - 1, maxRow + 1); r >= Math.max(0, minRow - 1); r--) {
+                if (growRow(r)) {
+                    changed = true;
+                    minRow = Math.min(minRow, r);
+                    maxRow = Math.max(maxRow, r);
+                }
+            }
+        }
+
+        long revealedCount = 0;
+        int fromRow = Math.max(0, minRow - 1);
+        int toRow = Math.min(rows - 1, maxRow + 1);
+        for (int r = fromRow; r <= toRow; r++) {
+            dilateNeighbourRows(r);
+            int offset = r * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                seeds[w] |= region[offset + w];
+            }
+            revealedCount += kernel.openCells(seeds, blackHoles, revealed, offset, wordsPerRow);
+            for (int w = 0; w < wordsPerRow; w++) {
+                markRevealed(r, w, seeds[w]);
+            }
+        }
+        for (int r = minRow; r <= maxRow; r++) {
+            int offset = r * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                region[offset + w] = 0;
+            }
+        }
+        return revealedCount;
+    }
+
+    /**
+     * Adds to the region of row r all empty cells reachable from the region of the same and the adjacent rows.
+     *
+     * @return true if the region of row r was extended
+     */
+    private boolean growRow(int r) {
+        dilateNeighbourRows(r);
+        int offset = r * wordsPerRow;
+        boolean hasSeeds = false;
+        for (int w = 0; w < wordsPerRow; w++) {
+            seeds[w] = (seeds[w] | region[offset + w]) & empty[offset + w];
+            hasSeeds |= seeds[w] != 0;
+        }
+        if (!hasSeeds) {
+            return false;
+        }
+        boolean changed = false;
+        long upCarry = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long e = empty[offset + w];
+            long s = seeds[w];
+            long sum = e + s;
+            long carry = Long.compareUnsigned(sum, e) < 0 ? 1 : 0;
+            long total = sum + upCarry;
+            carry |= (upCarry != 0 && total == 0) ? 1 : 0;
+            upCarry = carry;
+            // bits of e flipped by the carry chain are the runs above the seeds
+            seeds[w] = s | ((total ^ e) & e);
+        }
+        long downCarry = 0;
+        for (int w = wordsPerRow - 1; w >= 0; w--) {
+            long e = Long.reverse(empty[offset + w]);
+            long s = Long.reverse(seeds[w] & empty[offset + w]);
+            long sum = e + s;
+            long carry = Long.compareUnsigned(sum, e) < 0 ? 1 : 0;
+            long total = sum + downCarry;
+            carry |= (downCarry != 0 && total == 0) ? 1 : 0;
+            downCarry = carry;
+            long filled = Long.reverse(s | ((total ^ e) & e)) | seeds[w];
+            if ((filled & ~region[offset + w]) != 0) {
+                region[offset + w] |= filled;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Writes to {@code seeds} the region of rows r-1, r and r+1, dilated by one column in both directions.
+     */
+    private void dilateNeighbourRows(int r) {
+        for (int w = 0; w < wordsPerRow; w++) {
+            seeds[w] = 0;
+        }
+        for (int neighbour = Math.max(0, r - 1); neighbour <= Math.min(rows - 1, r + 1); neighbour++) {
+            int offset = neighbour * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = region[offset + w];
+                long previous = w > 0 ? region[offset + w - 1] : 0;
+                long next = w < wordsPerRow - 1 ? region[offset + w + 1] : 0;
+                seeds[w] |= word | (word << 1) | (previous >>> (WORD_SIZE - 1)) | (word >>> 1) | (next << (WORD_SIZE - 1));
+            }
+        }
+        seeds[wordsPerRow - 1] &= lastWordMask;
+    }
+
+    private void markRevealed(int r, int w, long opened) {
+        int firstColumn = w * WORD_SIZE;
+        while (opened != 0) {
+            long index = board.indexOf(r, firstColumn + Long.numberOfTrailingZeros(opened));
+            board.setState(index, CellState.markAsRevealed(board.getState(index)));
+            revealLog.record(index);
+            opened &= opened - 1;
+        }
+    }
+
+    private void buildMasks() {
+        Arrays.fill(empty, 0);
+        Arrays.fill(blackHoles, 0);
+        Arrays.fill(revealed, 0);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                byte state = board.getState(board.indexOf(r, c));
+                int word = r * wordsPerRow + c / WORD_SIZE;
+                long bit = 1L << (c % WORD_SIZE);
+                if (CellState.isBlackHole(state)) {
+                    blackHoles[word] |= bit;
+                } else if (CellState.getAdjacentBlackHolesCount(state) == 0) {
+                    empty[word] |= bit;
+                }
+                if (CellState.isRevealed(state)) {
+                    revealed[word] |= bit;
+                }
+            }
+        }
+        masksValid = true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.andriienko.proxx.domain;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks exactly {@code count} distinct cell indices out of {@code size} in bounded time.
+ * <p>
+ * Up to 50% density Robert Floyd's algorithm is used: for j = size - count .. size - 1 a random t in [0, j] is taken,
+ * and j itself replaces t when t is already chosen. Every step adds exactly one index, so there are exactly
+ * {@code count} random draws, unlike rejection sampling whose number of draws grows as a coupon collector process
+ * when the density approaches 100%.
+ * <p>
+ * Above 50% density the complement is sampled instead: {@code size - count} safe cells are picked with Floyd's algorithm
+ * and all the other cells are returned, so the number of draws never exceeds size / 2.
+ */
+class BlackHoleSampler {
+
+    /**
+     * @return {@code count} distinct indices in the range [0, size)
+     */
+    int[] sample(int size, int count, RandomGenerator random) {
+        if (count < 0 || count > size) {
+            throw new IllegalArgumentException("Could not pick " + count + " distinct cells out of " + size);
+        }
+        if (count <= size / 2) {
+            int[] indices = new int[count];
+            floyd(size, count, random, indices);
+            return indices;
+        }
+        long[] safe = floyd(size, size - count, random, null);
+        int[] indices = new int[count];
+        int next = 0;
+        for (int index = 0; index < size; index++) {
+            if (!isSet(safe, index)) {
+                indices[next++] = index;
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * @param indices - if not null, receives the chosen indices in the order they were chosen
+     * @return bitset of the chosen indices
+     */
+    private long[] floyd(int size, int count, RandomGenerator random, int[] indices) {
+        long[] chosen = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        int next = 0;
+        for (int j = size - count; j < size; j++) {
+            int index = random.nextInt(j + 1);
+            if (isSet(chosen, index)) {
+                index = j;
+            }
+            chosen[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+            if (indices != null) {
+                indices[next++] = index;
+            }
+        }
+        return chosen;
+    }
+
+    private static boolean isSet(long[] bitset, int index) {
+        return (bitset[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+}
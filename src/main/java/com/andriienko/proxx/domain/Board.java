@@ -1,8 +1,10 @@
 package com.andriienko.proxx.domain;
 
+import com.andriienko.proxx.enums.BoardMode;
 import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 
 /**
@@ -10,7 +12,8 @@ import java.util.function.Consumer;
  * Class Board:
  * Key responsibilities include:
  * <p/>
- * 1) Grid Management: The Board class maintains a 2D array of Cell objects.
+ * 1) Grid Management: The Board class maintains the grid of cells in a storage chosen by {@link BoardMode}:
+ * Cell objects, a packed byte per square or lazily allocated tiles of packed bytes.
  * <p/>
  * 2) Cell Access: It provides methods to access individual cells based on their row and column indices.
  * <p/>
@@ -23,25 +26,126 @@ public class Board {
 
     @Getter(AccessLevel.PUBLIC)
     private final int columns;
-    private final Cell[][] cells;
+
+    @Getter(AccessLevel.PUBLIC)
+    private final BoardMode mode;
+    private final CellStorage cells;
+    @Getter(AccessLevel.PUBLIC)
+    private boolean fullyRevealed;
 
     Board(int rows, int columns) {
+        this(rows, columns, BoardMode.OBJECT);
+    }
+
+    Board(int rows, int columns, BoardMode mode) {
         this.rows = rows;
         this.columns = columns;
-        this.cells = new Cell[rows][columns];
+        this.mode = mode;
+        this.cells = switch (mode) {
+            case OBJECT -> new ObjectCellStorage(rows, columns);
+            case PACKED -> new PackedCellStorage(rows, columns);
+            case CHUNKED -> new ChunkedCellStorage(rows, columns);
+        };
+    }
 
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                cells[row][column] = new Cell(row, column);
-            }
+    /**
+     * Packed and chunked boards keep no Cell objects and return a new view on every call,
+     * hot paths read the state through {@link #isBlackHoleAt}, {@link #isRevealedAt} and {@link #getAdjacentBlackHolesCountAt}
+     */
+    public Cell getCellAt(int row, int column) {
+        if (!validBoundaries(row, column)) {
+            throw new IllegalArgumentException("Cell is out of board");
         }
+        return cells.getCell(row, column);
     }
 
-    public Cell getCellAt(int row, int column) {
+    /**
+     * Reads the cell state directly from the storage, without creating a Cell object
+     */
+    public boolean isBlackHoleAt(int row, int column) {
+        return CellState.isBlackHole(getStateAt(row, column));
+    }
+
+    public boolean isRevealedAt(int row, int column) {
+        return CellState.isRevealed(getStateAt(row, column));
+    }
+
+    public int getAdjacentBlackHolesCountAt(int row, int column) {
+        return CellState.getAdjacentBlackHolesCount(getStateAt(row, column));
+    }
+
+    private byte getStateAt(int row, int column) {
         if (!validBoundaries(row, column)) {
             throw new IllegalArgumentException("Cell is out of board");
         }
-        return cells[row][column];
+        return cells.getState(indexOf(row, column));
+    }
+
+    /**
+     * Copies the states of all cells in one pass, a single array copy for packed boards
+     *
+     * @throws IllegalStateException for chunked boards, which are too large to be copied
+     */
+    public BoardSnapshot snapshot() {
+        if (mode == BoardMode.CHUNKED) {
+            throw new IllegalStateException("Chunked boards are too large to be copied");
+        }
+        byte[] states = new byte[rows * columns];
+        cells.readStates(0, states, states.length);
+        return new BoardSnapshot(rows, columns, states);
+    }
+
+    long indexOf(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    byte getState(long index) {
+        return cells.getState(index);
+    }
+
+    void setState(long index, byte state) {
+        cells.setState(index, state);
+    }
+
+    /**
+     * Copies states of a whole row into {@code states}, which should have at least {@code columns} elements
+     */
+    void readRow(int row, byte[] states) {
+        cells.readStates(indexOf(row, 0), states, columns);
+    }
+
+    void writeRow(int row, byte[] states) {
+        cells.writeStates(indexOf(row, 0), states, columns);
+    }
+
+    /**
+     * Marks the whole board as revealed in constant time, see {@link CellStorage#revealAll()}
+     */
+    void revealAll() {
+        cells.revealAll();
+        fullyRevealed = true;
+    }
+
+    /**
+     * Attaches lazily generated black holes, only chunked boards generate their tiles on demand
+     *
+     * @param generationPool - pool generating tiles in bulk, null to generate them one by one on first touch
+     */
+    void setBlackHoleLayout(TiledBlackHoleLayout layout, ForkJoinPool generationPool) {
+        if (!(cells instanceof ChunkedCellStorage chunkedCells)) {
+            throw new IllegalStateException("Lazy black hole layout is supported only by chunked boards");
+        }
+        chunkedCells.setLayout(layout, generationPool);
+    }
+
+    /**
+     * Generates the tiles of a chunked board in parallel ahead of reading them, see {@link ChunkedCellStorage#materializeTiles}.
+     * Flat boards have nothing to generate.
+     */
+    void materializeTiles(long[] tileIndices, int count) {
+        if (cells instanceof ChunkedCellStorage chunkedCells) {
+            chunkedCells.materializeTiles(tileIndices, count);
+        }
     }
 
     private boolean validBoundaries(int row, int column) {
@@ -82,7 +186,28 @@ public class Board {
                 if (r == row && c == column) {
                     continue;
                 }
-                action.accept(getCellAt(r, c));
+                action.accept(cells.getCell(r, c));
+            }
+        }
+    }
+
+    /**
+     * Increases adjacency counts of the cells around row,column in place, the same cells {@link #visitAdjacentCells} visits,
+     * without creating Cell objects
+     */
+    void addAdjacentBlackHolesCountAround(int row, int column) {
+        int minRow = Math.max(0, row - 1);
+        int maxRow = Math.min(rows - 1, row + 1);
+        int minColumn = Math.max(0, column - 1);
+        int maxColumn = Math.min(columns - 1, column + 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                if (r == row && c == column) {
+                    continue;
+                }
+                long index = indexOf(r, c);
+                cells.setState(index, CellState.addAdjacentBlackHolesCount(cells.getState(index)));
             }
         }
     }
@@ -0,0 +1,32 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Row-at-once primitives used by board generation and bitboard reveal.
+ * Implementations are selected once at startup by {@link BoardKernels}.
+ */
+interface BoardKernel {
+
+    /**
+     * Writes to {@code flags[column + 1]} 1 if the state of the column is a black hole, otherwise 0
+     */
+    void extractBlackHoles(byte[] states, byte[] flags, int columns);
+
+    /**
+     * 8-neighbour black hole count of one row.
+     * Flag rows are padded: column c of the board is element c + 1 of {@code above}, {@code current} and {@code below}.
+     */
+    void countAdjacentBlackHoles(byte[] above, byte[] current, byte[] below, byte[] counts, int columns);
+
+    /**
+     * Replaces adjacency counts of {@code states} with {@code counts}, keeping the other bits
+     */
+    void mergeAdjacentBlackHoles(byte[] states, byte[] counts, int columns);
+
+    /**
+     * Keeps in {@code candidates} only the cells that are neither black holes nor revealed yet and adds them to {@code revealed}.
+     *
+     * @param offset - position of the first candidate word in {@code blackHoles} and {@code revealed}
+     * @return number of cells left in {@code candidates}
+     */
+    long openCells(long[] candidates, long[] blackHoles, long[] revealed, int offset, int words);
+}
@@ -0,0 +1,51 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Picks the {@link BoardKernel} once, when the class is initialized.
+ * <p>
+ * The vector kernel is used when it was compiled, with the {@code vector} Maven profile, and the {@code jdk.incubator.vector}
+ * module is resolved in the boot layer, i.e. the JVM was started with {@code --add-modules jdk.incubator.vector}.
+ * Otherwise, or if the kernel could not be loaded, the scalar kernel is used. System property {@code proxx.kernel=scalar} forces the scalar kernel.
+ */
+final class BoardKernels {
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "com.andriienko.proxx.domain.VectorBoardKernel";
+
+    private static final BoardKernel KERNEL = select();
+
+    private BoardKernels() {
+    }
+
+    static BoardKernel get() {
+        return KERNEL;
+    }
+
+    static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+
+    /**
+     * @return vector kernel, or null if it was not compiled or the Vector API is not available in this JVM
+     */
+    static BoardKernel createVectorKernel() {
+        if (!isVectorAvailable()) {
+            return null;
+        }
+        try {
+            // loaded reflectively, so the scalar path never links against the incubator module
+            return (BoardKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static BoardKernel select() {
+        if (!"scalar".equals(System.getProperty("proxx.kernel"))) {
+            BoardKernel vectorKernel = createVectorKernel();
+            if (vectorKernel != null) {
+                return vectorKernel;
+            }
+        }
+        return new ScalarBoardKernel();
+    }
+}
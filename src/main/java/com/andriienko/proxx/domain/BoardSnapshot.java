@@ -0,0 +1,41 @@
+package com.andriienko.proxx.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable copy of the cell states of a flat board, a byte per cell, taken by {@link Board#snapshot()}.
+ * It stays readable whatever happens to the game afterwards.
+ */
+@Getter(AccessLevel.PUBLIC)
+public final class BoardSnapshot {
+    private final int rows;
+    private final int columns;
+    @Getter(AccessLevel.NONE)
+    private final byte[] states;
+
+    BoardSnapshot(int rows, int columns, byte[] states) {
+        this.rows = rows;
+        this.columns = columns;
+        this.states = states;
+    }
+
+    public boolean isBlackHoleAt(int row, int column) {
+        return CellState.isBlackHole(getStateAt(row, column));
+    }
+
+    public boolean isRevealedAt(int row, int column) {
+        return CellState.isRevealed(getStateAt(row, column));
+    }
+
+    public int getAdjacentBlackHolesCountAt(int row, int column) {
+        return CellState.getAdjacentBlackHolesCount(getStateAt(row, column));
+    }
+
+    private byte getStateAt(int row, int column) {
+        if (row < 0 || column < 0 || row >= rows || column >= columns) {
+            throw new IllegalArgumentException("Cell is out of board");
+        }
+        return states[row * columns + column];
+    }
+}
@@ -7,40 +7,57 @@ import lombok.Getter;
 /**
  * Class Cell:
  * Represents the state information for a single cell on the Proxx board.
+ * <p>
+ * The state is kept in a single byte encoded by {@link CellState}, so the same cell API
+ * can be served either by the cell itself or by a view over packed board storage.
  */
 @Getter(AccessLevel.PUBLIC)
 @EqualsAndHashCode(of = {"row", "column"})
 public class Cell {
     private final int row;
     private final int column;
-    private boolean isRevealed;
-    private boolean isBlackHole;
-    private int adjacentBlackHolesCount;
+    @Getter(AccessLevel.NONE)
+    private byte state;
 
     Cell(int row, int column) {
         this.row = row;
         this.column = column;
-        this.isBlackHole = false;
-        this.isRevealed = false;
-        this.adjacentBlackHolesCount = 0;
+        this.state = CellState.EMPTY;
+    }
+
+    byte getState() {
+        return state;
+    }
+
+    void setState(byte state) {
+        this.state = state;
+    }
+
+    public boolean isRevealed() {
+        return CellState.isRevealed(getState());
+    }
+
+    public boolean isBlackHole() {
+        return CellState.isBlackHole(getState());
+    }
+
+    public int getAdjacentBlackHolesCount() {
+        return CellState.getAdjacentBlackHolesCount(getState());
     }
 
     void addAdjacentBlackHolesCount() {
-        if (adjacentBlackHolesCount > 7) {
-            throw new IllegalStateException("Cell could be surrounded only by 0..8 black holes");
-        }
-        adjacentBlackHolesCount++;
+        setState(CellState.addAdjacentBlackHolesCount(getState()));
     }
 
     public boolean isEmpty() {
-        return adjacentBlackHolesCount == 0;
+        return getAdjacentBlackHolesCount() == 0;
     }
 
     void markAsRevealed() {
-        isRevealed = true;
+        setState(CellState.markAsRevealed(getState()));
     }
 
     void markAsBlackHole() {
-        isBlackHole = true;
+        setState(CellState.markAsBlackHole(getState()));
     }
 }
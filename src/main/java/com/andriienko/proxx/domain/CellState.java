@@ -0,0 +1,47 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Bit layout of the single byte describing a cell:
+ * <pre>
+ *   bit  7 6 5 4 3 2 1 0
+ *        - - R H C C C C
+ * </pre>
+ * C - adjacent black holes count (0..8), H - black hole flag, R - revealed flag.
+ */
+final class CellState {
+    static final byte EMPTY = 0;
+    static final int ADJACENT_BLACK_HOLES_MASK = 0x0F;
+    static final int BLACK_HOLE = 0x10;
+    static final int REVEALED = 0x20;
+    static final int MAX_ADJACENT_BLACK_HOLES = 8;
+
+    private CellState() {
+    }
+
+    static boolean isBlackHole(byte state) {
+        return (state & BLACK_HOLE) != 0;
+    }
+
+    static boolean isRevealed(byte state) {
+        return (state & REVEALED) != 0;
+    }
+
+    static int getAdjacentBlackHolesCount(byte state) {
+        return state & ADJACENT_BLACK_HOLES_MASK;
+    }
+
+    static byte markAsBlackHole(byte state) {
+        return (byte) (state | BLACK_HOLE);
+    }
+
+    static byte markAsRevealed(byte state) {
+        return (byte) (state | REVEALED);
+    }
+
+    static byte addAdjacentBlackHolesCount(byte state) {
+        if (getAdjacentBlackHolesCount(state) >= MAX_ADJACENT_BLACK_HOLES) {
+            throw new IllegalStateException("Cell could be surrounded only by 0..8 black holes");
+        }
+        return (byte) (state + 1);
+    }
+}
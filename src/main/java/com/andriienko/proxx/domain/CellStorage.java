@@ -0,0 +1,36 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Storage strategy behind {@link Board}. Coordinates are expected to be already validated by the board,
+ * index is a flat cell index: row * columns + column.
+ */
+interface CellStorage {
+    Cell getCell(int row, int column);
+
+    byte getState(long index);
+
+    void setState(long index, byte state);
+
+    /**
+     * Marks every cell as revealed in O(1): the revealed bit is added to every state the storage returns.
+     */
+    void revealAll();
+
+    /**
+     * Copies {@code length} consecutive states starting at {@code fromIndex} into {@code states}
+     */
+    default void readStates(long fromIndex, byte[] states, int length) {
+        for (int i = 0; i < length; i++) {
+            states[i] = getState(fromIndex + i);
+        }
+    }
+
+    /**
+     * Writes {@code length} consecutive states starting at {@code fromIndex} from {@code states}
+     */
+    default void writeStates(long fromIndex, byte[] states, int length) {
+        for (int i = 0; i < length; i++) {
+            setState(fromIndex + i, states[i]);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.andriienko.proxx.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Keeps the board in 64x64 tiles of state bytes, allocated lazily on first touch.
+ * <p>
+ * Tiles are reachable through a two level directory: an array of tile rows, each allocated when one of its tiles
+ * is touched, so memory scales with the touched area and not with rows * columns.
+ * Reading an untouched tile of a board without layout returns an empty state and allocates nothing.
+ * <p>
+ * When a {@link TiledBlackHoleLayout} is attached, a touched tile is materialized with its black holes and
+ * adjacency counts, computed from the black holes of the tile itself and of its eight neighbour tiles.
+ * Tiles known to be needed together, e.g. the frontier of a large reveal, could be materialized in parallel
+ * on a generation pool, see {@link #materializeTiles(long[], int)}.
+ * <p>
+ * After {@link #revealAll()} the revealed bit is added to every state read, no tile is touched.
+ */
+class ChunkedCellStorage implements CellStorage {
+    static final int TILE_SHIFT = 6;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    private final int rows;
+    private final int columns;
+    private final int tileRows;
+    private final int tileColumns;
+    private final byte[][][] tiles;
+    private TiledBlackHoleLayout layout;
+    private ForkJoinPool generationPool;
+    private byte revealedMask;
+
+    ChunkedCellStorage(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.tileRows = (rows + TILE_SIZE - 1) >> TILE_SHIFT;
+        this.tileColumns = (columns + TILE_SIZE - 1) >> TILE_SHIFT;
+        this.tiles = new byte[tileRows][][];
+    }
+
+    /**
+     * @param generationPool - pool materializing tiles in bulk, null to materialize every tile on first touch on the calling thread
+     */
+    void setLayout(TiledBlackHoleLayout layout, ForkJoinPool generationPool) {
+        this.layout = layout;
+        this.generationPool = generationPool;
+    }
+
+    /**
+     * Materializes the given tiles which are not materialized yet in parallel on the generation pool.
+     * Every tile is generated from the layout and from the tiles materialized before the call, which are only read meanwhile,
+     * and all of them are installed into the directory afterwards on the calling thread. Since every tile samples its
+     * black holes from its own seed, the board is the same as if the tiles were touched one by one, whatever the parallelism is.
+     * Does nothing without a layout or a pool, the tiles are then materialized on first touch.
+     *
+     * @param tileIndices - distinct tile indices, tileRow * tileColumns + tileColumn
+     * @param count - number of indices to read from {@code tileIndices}
+     */
+    void materializeTiles(long[] tileIndices, int count) {
+        if (layout == null || generationPool == null) {
+            return;
+        }
+        List<long[]> missing = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int tileRow = (int) (tileIndices[i] / tileColumns);
+            int tileColumn = (int) (tileIndices[i] % tileColumns);
+            if (getTile(tileRow, tileColumn, false) == null) {
+                missing.add(new long[]{tileRow, tileColumn});
+            }
+        }
+        if (missing.size() < 2) {
+            return;
+        }
+        byte[][] generated = new byte[missing.size()][];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            int current = i;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                generated[current] = materialize((int) missing.get(current)[0], (int) missing.get(current)[1]);
+            }));
+        }
+        generationPool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        for (int i = 0; i < generated.length; i++) {
+            int tileRow = (int) missing.get(i)[0];
+            if (tiles[tileRow] == null) {
+                tiles[tileRow] = new byte[tileColumns][];
+            }
+            tiles[tileRow][(int) missing.get(i)[1]] = generated[i];
+        }
+    }
+
+    @Override
+    public Cell getCell(int row, int column) {
+        return new StorageCell(row, column, (long) row * columns + column, this);
+    }
+
+    @Override
+    public byte getState(long index) {
+        int row = (int) (index / columns);
+        int column = (int) (index - (long) row * columns);
+        byte[] tile = getTile(row >> TILE_SHIFT, column >> TILE_SHIFT, layout != null);
+        return (byte) ((tile == null ? CellState.EMPTY : tile[offset(row, column)]) | revealedMask);
+    }
+
+    @Override
+    public void setState(long index, byte state) {
+        int row = (int) (index / columns);
+        int column = (int) (index - (long) row * columns);
+        getTile(row >> TILE_SHIFT, column >> TILE_SHIFT, true)[offset(row, column)] = state;
+    }
+
+    @Override
+    public void revealAll() {
+        revealedMask = CellState.REVEALED;
+    }
+
+    private static int offset(int row, int column) {
+        return ((row & TILE_MASK) << TILE_SHIFT) | (column & TILE_MASK);
+    }
+
+    private byte[] getTile(int tileRow, int tileColumn, boolean create) {
+        byte[][] tileRowDirectory = tiles[tileRow];
+        if (tileRowDirectory == null) {
+            if (!create) {
+                return null;
+            }
+            tileRowDirectory = new byte[tileColumns][];
+            tiles[tileRow] = tileRowDirectory;
+        }
+        byte[] tile = tileRowDirectory[tileColumn];
+        if (tile == null && create) {
+            tile = layout == null ? new byte[TILE_SIZE * TILE_SIZE] : materialize(tileRow, tileColumn);
+            tileRowDirectory[tileColumn] = tile;
+        }
+        return tile;
+    }
+
+    private byte[] materialize(int tileRow, int tileColumn) {
+        long[][] masks = new long[9][];
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                masks[(dr + 1) * 3 + dc + 1] = blackHoleMask(tileRow + dr, tileColumn + dc);
+            }
+        }
+        byte[] tile = new byte[TILE_SIZE * TILE_SIZE];
+        int height = Math.min(TILE_SIZE, rows - (tileRow << TILE_SHIFT));
+        int width = Math.min(TILE_SIZE, columns - (tileColumn << TILE_SHIFT));
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                int count = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if ((dr != 0 || dc != 0) && isBlackHole(masks, r + dr, c + dc)) {
+                            count++;
+                        }
+                    }
+                }
+                int state = count;
+                if (isBlackHole(masks, r, c)) {
+                    state |= CellState.BLACK_HOLE;
+                }
+                tile[(r << TILE_SHIFT) | c] = (byte) state;
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Black holes of a tile: read from the tile itself when it is already materialized, otherwise generated by the layout.
+     */
+    private long[] blackHoleMask(int tileRow, int tileColumn) {
+        long[] mask = new long[TILE_SIZE];
+        if (tileRow < 0 || tileColumn < 0 || tileRow >= tileRows || tileColumn >= tileColumns) {
+            return mask;
+        }
+        byte[] tile = getTile(tileRow, tileColumn, false);
+        if (tile == null) {
+            return layout.blackHoleMask(tileRow, tileColumn);
+        }
+        for (int i = 0; i < tile.length; i++) {
+            if (CellState.isBlackHole(tile[i])) {
+                mask[i >> TILE_SHIFT] |= 1L << (i & TILE_MASK);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param r - local row in the range -1..64, out of tile coordinates fall into the neighbour tile masks
+     * @param c - local column in the range -1..64
+     */
+    private static boolean isBlackHole(long[][] masks, int r, int c) {
+        int maskRow = r < 0 ? 0 : r < TILE_SIZE ? 1 : 2;
+        int maskColumn = c < 0 ? 0 : c < TILE_SIZE ? 1 : 2;
+        return (masks[maskRow * 3 + maskColumn][r & TILE_MASK] & (1L << (c & TILE_MASK))) != 0;
+    }
+}
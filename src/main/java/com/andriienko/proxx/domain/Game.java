@@ -1,38 +1,66 @@
 package com.andriienko.proxx.domain;
 
+import com.andriienko.proxx.enums.BoardMode;
 import com.andriienko.proxx.enums.GameStatus;
+import com.andriienko.proxx.enums.RevealMode;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.text.MessageFormat;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The Game class represents a game of Proxx.
  * It's responsible for managing the game state, including the placement of black holes and revealing cells, as well as determining the status of the game.
+ * Every change of the board increments the version of the game, so views taken earlier could detect they are stale.
  */
 @Getter(AccessLevel.PUBLIC)
 public class Game {
 
     private static final int MIN_DIMENSION_SIZE = 3;
     private static final int MAX_DIMENSION_SIZE = 100;
+    private static final int MAX_CHUNKED_DIMENSION_SIZE = 1_000_000;
+    /**
+     * Number of cells of the largest flat board, storages laid out per game, e.g. repositories, are sized by it
+     */
+    public static final int MAX_FLAT_CELLS = MAX_DIMENSION_SIZE * MAX_DIMENSION_SIZE;
 
-    private final int size;
+    private final long size;
     private final Board board;
-    private final int maxBlackHolesNumber;
-    private int revealedCellsNumber;
+    @Getter(AccessLevel.NONE)
+    private final RevealEngine revealEngine;
+    private final long maxBlackHolesNumber;
+    private final RevealLog revealLog = new RevealLog();
+    private long revealedCellsNumber;
     private int blackHolesNumber;
+    @Setter(AccessLevel.PACKAGE)
+    private long seed;
+    private long version;
+    private long lastMoveIndex = -1;
     private boolean blackHoleRevealed;
     private GameStatus status;
 
     Game(int rows, int columns) {
-        size = rows * columns;
+        this(rows, columns, BoardMode.OBJECT);
+    }
+
+    Game(int rows, int columns, BoardMode boardMode) {
+        this(rows, columns, boardMode, RevealMode.FLOOD_FILL);
+    }
+
+    Game(int rows, int columns, BoardMode boardMode, RevealMode revealMode) {
+        size = (long) rows * columns;
         maxBlackHolesNumber = size - 1;
-        validateDimensions(rows, columns);
-        board = new Board(rows, columns);
+        validateDimensions(rows, columns, boardMode);
+        board = new Board(rows, columns, boardMode);
+        revealEngine = switch (revealMode) {
+            case FLOOD_FILL -> new StackRevealEngine(board, revealLog);
+            case BITBOARD -> boardMode == BoardMode.CHUNKED
+                    ? new TiledBitboardRevealEngine(board, revealLog)
+                    : new BitboardRevealEngine(board, revealLog);
+        };
         status = GameStatus.IN_PROGRESS;
     }
 
@@ -47,26 +75,130 @@ public class Game {
         if (blackHolesNumber >= maxBlackHolesNumber) {
             throw new IllegalArgumentException("Too much mines. Board should contain at least 1 cell");
         }
-        Cell cell = board.getCellAt(row, column);
-        if (cell.isBlackHole()) {
+        if (board.isBlackHoleAt(row, column)) {
             return false;
         }
-        cell.markAsBlackHole();
-        board.visitAdjacentCells(row, column, Cell::addAdjacentBlackHolesCount);
+        // neighbours first: a chunked board may materialize a neighbour tile here and must not see the new black hole yet
+        board.addAdjacentBlackHolesCountAround(row, column);
+        long index = board.indexOf(row, column);
+        board.setState(index, CellState.markAsBlackHole(board.getState(index)));
+        revealEngine.onBoardChanged();
         blackHolesNumber++;
+        version++;
         return true;
     }
 
+    /**
+     * Places black holes in bulk: marks all of them first and then computes adjacency counts of the whole board
+     * in one sequential pass, see {@link AdjacencyCounter}. Supposed to be used for flat boards during generation,
+     * when the number of black holes makes per hole neighbour updates more expensive than a single pass.
+     *
+     * @param indices - distinct flat cell indices, row * columns + column
+     */
+    void placeBlackHoles(int[] indices) {
+        if (blackHolesNumber + indices.length > maxBlackHolesNumber) {
+            throw new IllegalArgumentException("Too much mines. Board should contain at least 1 cell");
+        }
+        for (int index : indices) {
+            byte state = board.getState(index);
+            if (!CellState.isBlackHole(state)) {
+                board.setState(index, CellState.markAsBlackHole(state));
+                blackHolesNumber++;
+            }
+        }
+        new AdjacencyCounter().countAdjacentBlackHoles(board);
+        revealEngine.onBoardChanged();
+        version++;
+    }
+
+    /**
+     * Distributes black holes over a chunked board without touching it: every tile gets its black holes and
+     * adjacency counts generated on first access, see {@link TiledBlackHoleLayout}
+     *
+     * @param blackHolesNumber - total number of black holes on the board
+     * @param seed - seed of the layout, the same seed always produces the same board
+     */
+    void placeBlackHolesLazily(int blackHolesNumber, long seed) {
+        placeBlackHolesLazily(blackHolesNumber, seed, null);
+    }
+
+    /**
+     * Same as {@link #placeBlackHolesLazily(int, long)}, tiles reached by a large reveal are generated in parallel on the pool
+     *
+     * @param generationPool - pool generating tiles in bulk, null to generate every tile on the thread touching it
+     */
+    void placeBlackHolesLazily(int blackHolesNumber, long seed, ForkJoinPool generationPool) {
+        if (this.blackHolesNumber + blackHolesNumber > maxBlackHolesNumber) {
+            throw new IllegalArgumentException("Too much mines. Board should contain at least 1 cell");
+        }
+        if (this.blackHolesNumber > 0) {
+            throw new IllegalStateException("Lazy black holes could be placed only on an empty board");
+        }
+        board.setBlackHoleLayout(new TiledBlackHoleLayout(board.getRows(), board.getColumns(), blackHolesNumber, seed), generationPool);
+        revealEngine.onBoardChanged();
+        this.blackHolesNumber = blackHolesNumber;
+        this.seed = seed;
+        version++;
+    }
+
+    /**
+     * Restores a saved game on an empty flat board: marks black holes, computes adjacency counts in one pass
+     * and marks revealed cells without opening any region. Counters and status are derived from the cells,
+     * a revealed black hole means the game was lost and the whole board is revealed again.
+     *
+     * @param blackHoles - flat indices of black holes
+     * @param revealed - flat indices of revealed cells
+     * @param seed - seed the layout was generated with
+     */
+    void restore(BitSet blackHoles, BitSet revealed, long seed) {
+        if (board.getMode() == BoardMode.CHUNKED) {
+            throw new IllegalStateException("Game could be restored only on a flat board");
+        }
+        if (this.blackHolesNumber > 0 || revealedCellsNumber > 0) {
+            throw new IllegalStateException("Game could be restored only on an empty board");
+        }
+        if (blackHoles.length() > size || revealed.length() > size) {
+            throw new IllegalArgumentException("Cell is out of board");
+        }
+        if (blackHoles.cardinality() > maxBlackHolesNumber) {
+            throw new IllegalArgumentException("Too much mines. Board should contain at least 1 cell");
+        }
+        for (int index = blackHoles.nextSetBit(0); index >= 0; index = blackHoles.nextSetBit(index + 1)) {
+            board.setState(index, CellState.markAsBlackHole(board.getState(index)));
+        }
+        new AdjacencyCounter().countAdjacentBlackHoles(board);
+        for (int index = revealed.nextSetBit(0); index >= 0; index = revealed.nextSetBit(index + 1)) {
+            board.setState(index, CellState.markAsRevealed(board.getState(index)));
+        }
+        blackHolesNumber = blackHoles.cardinality();
+        blackHoleRevealed = blackHoles.intersects(revealed);
+        revealedCellsNumber = blackHoleRevealed ? size : revealed.cardinality();
+        this.seed = seed;
+        revealEngine.onBoardChanged();
+        version++;
+        transitToStatus();
+    }
+
     /**
      * Reveals the cell at row,column.<p>
      * 1) For black holes just sets internal variables, that is used for status transition evaluation<p>
-     * 2) For non-black holes(safe) calls revealSafeCell method
+     * 2) For non-black holes(safe) calls revealSafeCell method<p>
+     * Cells revealed by the move are listed in {@link #getRevealLog()}, and the flat index of the revealed cell
+     * is kept as {@link #getLastMoveIndex()}, until the next move
      * @param row - zero based row number coordinate
      * @param column - zero based column number coordinate
+     * @throws IllegalStateException when the game is already won or lost, a finished game accepts no moves
      */
     public void revealCell(int row, int column) {
-        Cell cell = board.getCellAt(row, column);
-        if (cell.isBlackHole()) {
+        if (status != GameStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Game is over with status " + status);
+        }
+        boolean blackHole = board.isBlackHoleAt(row, column);
+        revealLog.clear();
+        lastMoveIndex = board.indexOf(row, column);
+        version++;
+        if (blackHole) {
+            revealLog.markOverflowed();
             blackHoleRevealed = true;
             revealedCellsNumber = size;
         } else {
@@ -90,62 +222,34 @@ public class Game {
     }
 
     /**
-     *  Reveals all cells, without any status transition. Uses when black hole was opened
+     *  Reveals all cells, without any status transition. Uses when black hole was opened.
+     *  Board keeps a fully revealed flag instead of marking cells one by one, so it does not depend on the board size
      */
     private void revealAll() {
-        for (int row = 0; row < board.getRows(); row++) {
-            for (int column = 0; column < board.getColumns(); column++) {
-                Cell cell = board.getCellAt(row, column);
-                if (!cell.isRevealed()) {
-                    cell.markAsRevealed();
-                }
-            }
-        }
+        board.revealAll();
+        revealEngine.onBoardChanged();
     }
 
     /**
      * Reveals only safe (non-black hole) cell.
      * <p>1) For non-empty cell - just opens it.
-     * <p>2) For empty cell - uses BFS algorithm to open all connected empty cells
+     * <p>2) For empty cell - uses the reveal engine selected by {@link RevealMode} to open all connected empty cells
      * @param row - zero based row coordinate
      * @param column - zero based column coordinate
      */
     private void revealSafeCells(int row, int column) {
-        Cell rootCell = board.getCellAt(row, column);
-        if (rootCell.isBlackHole()) {
-            return;
-        }
-        Queue<Cell> cells = new LinkedList<>();
-        Set<Cell> cellsAdded = new HashSet<>();
-        cells.add(rootCell);
-        cellsAdded.add(rootCell);
-        while (!cells.isEmpty()) {
-            Cell cell = cells.poll();
-            if(cell.isRevealed()) {
-                continue;
-            }
-            if (cell.isEmpty()) {
-                board.visitAdjacentCells(cell.getRow(), cell.getColumn(), adjacentCell -> {
-                    if (!adjacentCell.isRevealed() && !adjacentCell.isBlackHole() && !cellsAdded.contains(adjacentCell)) {
-                        cells.add(adjacentCell);
-                        cellsAdded.add(adjacentCell);
-                    }
-                });
-            }
-            cell.markAsRevealed();
-            revealedCellsNumber++;
-        }
-
+        revealedCellsNumber += revealEngine.revealSafeCells(row, column);
     }
 
-    private void validateDimensions(int rows, int columns) {
+    private void validateDimensions(int rows, int columns, BoardMode boardMode) {
         if (rows < MIN_DIMENSION_SIZE || columns < MIN_DIMENSION_SIZE) {
             throw new IllegalArgumentException(MessageFormat
                     .format("Invalid board dimensions. Board should contain at least {0} rows and {0} columns", MIN_DIMENSION_SIZE));
         }
-        if (rows > MAX_DIMENSION_SIZE || columns > MAX_DIMENSION_SIZE) {
+        int maxDimensionSize = boardMode == BoardMode.CHUNKED ? MAX_CHUNKED_DIMENSION_SIZE : MAX_DIMENSION_SIZE;
+        if (rows > maxDimensionSize || columns > maxDimensionSize) {
             throw new IllegalArgumentException(MessageFormat
-                    .format("Invalid board dimensions. Board should contain at most {0} rows and {0} columns", MAX_DIMENSION_SIZE));
+                    .format("Invalid board dimensions. Board should contain at most {0} rows and {0} columns", maxDimensionSize));
         }
     }
 }
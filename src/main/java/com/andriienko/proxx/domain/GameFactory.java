@@ -1,32 +1,91 @@
 package com.andriienko.proxx.domain;
 
-import lombok.NoArgsConstructor;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.RevealMode;
+import lombok.AllArgsConstructor;
 
-import java.util.Random;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  *  GameFactory class follows Factory Pattern and encapsulates the logic for setting up a new game.
  *  This includes the creation of a new Game object and the placement of black holes on the game board.
+ *  The storage layout of created boards is defined by {@link BoardMode}, OBJECT by default,
+ *  the algorithm used to open empty regions - by {@link RevealMode}, FLOOD_FILL by default and BITBOARD for chunked boards,
+ *  where a single reveal may open millions of cells.
+ *  Chunked boards get their black holes generated lazily, tile by tile, so creation does not depend on the board size.
+ *  Tiles reached together by a large reveal are generated in parallel on the generation pool, the common pool by default.
+ *  Every layout is defined by a seed: the same seed and parameters always produce the same board,
+ *  so a game could be reproduced from the seed returned in its view.
  */
-@NoArgsConstructor
+@AllArgsConstructor
 public class GameFactory {
 
+    private final BoardMode boardMode;
+    private final RevealMode revealMode;
+    private final ForkJoinPool generationPool;
+    private final BlackHoleSampler blackHoleSampler = new BlackHoleSampler();
+
+    public GameFactory() {
+        this(BoardMode.OBJECT);
+    }
+
+    public GameFactory(BoardMode boardMode) {
+        this(boardMode, boardMode == BoardMode.CHUNKED ? RevealMode.BITBOARD : RevealMode.FLOOD_FILL);
+    }
+
+    public GameFactory(BoardMode boardMode, RevealMode revealMode) {
+        this(boardMode, revealMode, ForkJoinPool.commonPool());
+    }
+
     public Game createGameWithRandomlyDistributedHoles(int rows, int columns, int blackHolesNumber) {
-        Game game = new Game(rows, columns);
-        placeBlackHolesRandomly(game, blackHolesNumber);
+        return createGameWithRandomlyDistributedHoles(rows, columns, blackHolesNumber, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a game with a reproducible layout of black holes
+     *
+     * @param seed - seed of the layout, the same seed always produces the same board for the same factory settings
+     */
+    public Game createGameWithRandomlyDistributedHoles(int rows, int columns, int blackHolesNumber, long seed) {
+        Game game = new Game(rows, columns, boardMode, revealMode);
+        if (boardMode == BoardMode.CHUNKED) {
+            validateBlackHolesNumber(blackHolesNumber);
+            game.placeBlackHolesLazily(blackHolesNumber, seed, generationPool);
+        } else {
+            placeBlackHolesRandomly(game, blackHolesNumber, seed);
+        }
+        return game;
+    }
+
+    /**
+     * Recreates a saved game from its cells, e.g. when a repository is reopened. Counters and status are derived from the cells.
+     * Supported by flat boards only.
+     *
+     * @param blackHoles - flat indices of black holes, row * columns + column
+     * @param revealed - flat indices of revealed cells
+     */
+    public Game restoreGame(int rows, int columns, BitSet blackHoles, BitSet revealed, long seed) {
+        Game game = new Game(rows, columns, boardMode, revealMode);
+        game.restore(blackHoles, revealed, seed);
         return game;
     }
 
-    private void placeBlackHolesRandomly(Game game, int blackHolesNumber) {
+    /**
+     * Places exactly blackHolesNumber black holes at distinct cells picked by {@link BlackHoleSampler},
+     * so the sampling time is bounded by the number of black holes, whatever the density is.
+     * Adjacency counts are computed afterwards in a single pass over the board.
+     * Random numbers are drawn from {@link SplittableRandom}, a SplitMix64 generator, seeded with the given seed.
+     */
+    private void placeBlackHolesRandomly(Game game, int blackHolesNumber, long seed) {
         validateBlackHolesNumber(blackHolesNumber);
-        Random random = new Random();
-        int blackHolesCount = 0;
-        Board board = game.getBoard();
-        while (blackHolesCount < blackHolesNumber) {
-            if (game.placeBlackHole(random.nextInt(board.getRows()), random.nextInt(board.getColumns()))) {
-                blackHolesCount++;
-            }
+        if (blackHolesNumber > game.getMaxBlackHolesNumber()) {
+            throw new IllegalArgumentException("Too much black holes. Board should contain at least 1 cell");
         }
+        game.placeBlackHoles(blackHoleSampler.sample((int) game.getSize(), blackHolesNumber, new SplittableRandom(seed)));
+        game.setSeed(seed);
     }
 
     private void validateBlackHolesNumber(int blackHolesNumber) {
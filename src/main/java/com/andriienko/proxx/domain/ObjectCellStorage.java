@@ -0,0 +1,49 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Keeps one Cell object per square. Cells returned by {@link #getCell} are the stored instances.
+ * <p>
+ * Like the byte storages, {@link #revealAll()} only sets a revealed mask, which is added to every state read through the storage.
+ * Stored cells are marked as revealed lazily, when they are handed out by {@link #getCell}, so a cell taken before
+ * the board was revealed keeps its own state.
+ */
+class ObjectCellStorage implements CellStorage {
+    private final int columns;
+    private final Cell[] cells;
+    private byte revealedMask;
+
+    ObjectCellStorage(int rows, int columns) {
+        this.columns = columns;
+        this.cells = new Cell[rows * columns];
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                cells[row * columns + column] = new Cell(row, column);
+            }
+        }
+    }
+
+    @Override
+    public Cell getCell(int row, int column) {
+        Cell cell = cells[row * columns + column];
+        if (revealedMask != 0 && !cell.isRevealed()) {
+            cell.markAsRevealed();
+        }
+        return cell;
+    }
+
+    @Override
+    public byte getState(long index) {
+        return (byte) (cells[(int) index].getState() | revealedMask);
+    }
+
+    @Override
+    public void setState(long index, byte state) {
+        cells[(int) index].setState(state);
+    }
+
+    @Override
+    public void revealAll() {
+        revealedMask = CellState.REVEALED;
+    }
+}
@@ -0,0 +1,54 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Keeps the whole board in one flat byte array indexed by row * columns + column,
+ * each byte encoded by {@link CellState}.
+ * <p>
+ * No Cell objects are stored: {@link #getCell} returns a {@link StorageCell} view that reads and writes through to the array.
+ * After {@link #revealAll()} the revealed bit is added to every state read, the array itself is not touched.
+ */
+class PackedCellStorage implements CellStorage {
+    private final int columns;
+    private final byte[] states;
+    private byte revealedMask;
+
+    PackedCellStorage(int rows, int columns) {
+        this.columns = columns;
+        this.states = new byte[rows * columns];
+    }
+
+    @Override
+    public Cell getCell(int row, int column) {
+        return new StorageCell(row, column, (long) row * columns + column, this);
+    }
+
+    @Override
+    public byte getState(long index) {
+        return (byte) (states[(int) index] | revealedMask);
+    }
+
+    @Override
+    public void setState(long index, byte state) {
+        states[(int) index] = state;
+    }
+
+    @Override
+    public void readStates(long fromIndex, byte[] states, int length) {
+        System.arraycopy(this.states, (int) fromIndex, states, 0, length);
+        if (revealedMask != 0) {
+            for (int i = 0; i < length; i++) {
+                states[i] |= revealedMask;
+            }
+        }
+    }
+
+    @Override
+    public void writeStates(long fromIndex, byte[] states, int length) {
+        System.arraycopy(states, 0, this.states, (int) fromIndex, length);
+    }
+
+    @Override
+    public void revealAll() {
+        revealedMask = CellState.REVEALED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Reveals safe cells of a single board, starting from a root cell.
+ */
+interface RevealEngine {
+
+    /**
+     * Reveals the root cell and, if it is empty, all connected empty cells together with their bordering numbered cells.
+     * Black holes and already revealed cells are left untouched.
+     *
+     * @param row    - zero based row coordinate
+     * @param column - zero based column coordinate
+     * @return number of cells revealed by this call
+     */
+    long revealSafeCells(int row, int column);
+
+    /**
+     * Notifies the engine that cells were changed outside of it, e.g. a black hole was placed.
+     */
+    default void onBoardChanged() {
+    }
+}
@@ -0,0 +1,65 @@
+package com.andriienko.proxx.domain;
+
+import java.util.Arrays;
+
+/**
+ * Flat indices (row * columns + column) of cells revealed by the last move of a game.
+ * <p>
+ * The log is cleared at the start of every move and grows with the number of revealed cells only. When a move changes
+ * more than {@link #MAX_RECORDED_CELLS} cells, or reveals the whole board after a black hole is hit, the log stops
+ * recording and is marked as overflowed: the whole board should be read instead.
+ */
+public final class RevealLog {
+    static final int MAX_RECORDED_CELLS = 1 << 20;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] indices = new long[INITIAL_CAPACITY];
+    private int size;
+    private boolean overflowed;
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param position - zero based position in the log, less than {@link #size()}
+     * @return flat index of the revealed cell
+     */
+    public long getIndex(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        return indices[position];
+    }
+
+    /**
+     * @return true if the move changed too many cells to be listed and the whole board should be read instead
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    void clear() {
+        size = 0;
+        overflowed = false;
+    }
+
+    void record(long index) {
+        if (overflowed) {
+            return;
+        }
+        if (size == MAX_RECORDED_CELLS) {
+            markOverflowed();
+            return;
+        }
+        if (size == indices.length) {
+            indices = Arrays.copyOf(indices, size * 2);
+        }
+        indices[size++] = index;
+    }
+
+    void markOverflowed() {
+        overflowed = true;
+        size = 0;
+    }
+}
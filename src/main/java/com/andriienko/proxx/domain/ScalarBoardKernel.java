@@ -0,0 +1,46 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Plain loop implementation of {@link BoardKernel}, always available.
+ */
+class ScalarBoardKernel implements BoardKernel {
+
+    @Override
+    public void extractBlackHoles(byte[] states, byte[] flags, int columns) {
+        for (int column = 0; column < columns; column++) {
+            flags[column + 1] = (byte) (CellState.isBlackHole(states[column]) ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void countAdjacentBlackHoles(byte[] above, byte[] current, byte[] below, byte[] counts, int columns) {
+        int left = above[0] + current[0] + below[0];
+        int middle = above[1] + current[1] + below[1];
+        for (int column = 0; column < columns; column++) {
+            int right = above[column + 2] + current[column + 2] + below[column + 2];
+            // window sum of the 3x3 box without the cell itself
+            counts[column] = (byte) (left + middle + right - current[column + 1]);
+            left = middle;
+            middle = right;
+        }
+    }
+
+    @Override
+    public void mergeAdjacentBlackHoles(byte[] states, byte[] counts, int columns) {
+        for (int column = 0; column < columns; column++) {
+            states[column] = (byte) ((states[column] & ~CellState.ADJACENT_BLACK_HOLES_MASK) | counts[column]);
+        }
+    }
+
+    @Override
+    public long openCells(long[] candidates, long[] blackHoles, long[] revealed, int offset, int words) {
+        long opened = 0;
+        for (int w = 0; w < words; w++) {
+            long cells = candidates[w] & ~blackHoles[offset + w] & ~revealed[offset + w];
+            candidates[w] = cells;
+            revealed[offset + w] |= cells;
+            opened += Long.bitCount(cells);
+        }
+        return opened;
+    }
+}
@@ -0,0 +1,77 @@
+package com.andriienko.proxx.domain;
+
+import java.util.Arrays;
+
+/**
+ * Flood fill over flat cell indices that produces no garbage per click.
+ * <p>
+ * Pending cells are kept in a primitive long stack that is reused between calls and only grows.
+ * A cell is marked as revealed when it is pushed, so the revealed bit of the board doubles as the visited marker
+ * and no additional set is needed. Every revealed cell is recorded in the {@link RevealLog} of the game.
+ */
+class StackRevealEngine implements RevealEngine {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Board board;
+    private final RevealLog revealLog;
+    private long[] stack = new long[INITIAL_CAPACITY];
+
+    StackRevealEngine(Board board) {
+        this(board, new RevealLog());
+    }
+
+    StackRevealEngine(Board board, RevealLog revealLog) {
+        this.board = board;
+        this.revealLog = revealLog;
+    }
+
+    @Override
+    public long revealSafeCells(int row, int column) {
+        long rootIndex = board.indexOf(row, column);
+        byte rootState = board.getState(rootIndex);
+        if (CellState.isBlackHole(rootState) || CellState.isRevealed(rootState)) {
+            return 0;
+        }
+        board.setState(rootIndex, CellState.markAsRevealed(rootState));
+        revealLog.record(rootIndex);
+        long revealed = 1;
+        if (CellState.getAdjacentBlackHolesCount(rootState) != 0) {
+            return revealed;
+        }
+
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        int top = 0;
+        stack[top++] = rootIndex;
+        while (top > 0) {
+            long index = stack[--top];
+            int r = (int) (index / columns);
+            int c = (int) (index - (long) r * columns);
+            int minRow = Math.max(0, r - 1);
+            int maxRow = Math.min(rows - 1, r + 1);
+            int minColumn = Math.max(0, c - 1);
+            int maxColumn = Math.min(columns - 1, c + 1);
+
+            for (int adjacentRow = minRow; adjacentRow <= maxRow; adjacentRow++) {
+                long rowOffset = (long) adjacentRow * columns;
+                for (int adjacentColumn = minColumn; adjacentColumn <= maxColumn; adjacentColumn++) {
+                    long adjacentIndex = rowOffset + adjacentColumn;
+                    byte state = board.getState(adjacentIndex);
+                    if (CellState.isRevealed(state) || CellState.isBlackHole(state)) {
+                        continue;
+                    }
+                    board.setState(adjacentIndex, CellState.markAsRevealed(state));
+                    revealLog.record(adjacentIndex);
+                    revealed++;
+                    if (CellState.getAdjacentBlackHolesCount(state) == 0) {
+                        if (top == stack.length) {
+                            stack = Arrays.copyOf(stack, top * 2);
+                        }
+                        stack[top++] = adjacentIndex;
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+}
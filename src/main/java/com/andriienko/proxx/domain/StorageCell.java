@@ -0,0 +1,26 @@
+package com.andriienko.proxx.domain;
+
+/**
+ * Cell view over a storage that keeps no Cell objects: reads and writes go through to the encoded state byte,
+ * so two views of the same square are equal, but not identical.
+ */
+class StorageCell extends Cell {
+    private final long index;
+    private final CellStorage storage;
+
+    StorageCell(int row, int column, long index, CellStorage storage) {
+        super(row, column);
+        this.index = index;
+        this.storage = storage;
+    }
+
+    @Override
+    byte getState() {
+        return storage.getState(index);
+    }
+
+    @Override
+    void setState(byte state) {
+        storage.setState(index, state);
+    }
+}
@@ -0,0 +1,311 @@
+package com.andriienko.proxx.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import static com.andriienko.proxx.domain.ChunkedCellStorage.TILE_SHIFT;
+import static com.andriienko.proxx.domain.ChunkedCellStorage.TILE_SIZE;
+
+/**
+ * Word parallel reveal of {@link BitboardRevealEngine} for chunked boards.
+ * <p>
+ * Masks are kept per 64x64 tile of {@link ChunkedCellStorage}, so a tile row is exactly one long: empty cells,
+ * black holes, cells revealed so far and the region being grown. Masks of a tile are built on first use, from the states
+ * of the tile only, so memory scales with the tiles reached by reveals and not with the board size.
+ * <p>
+ * A reveal grows the region in waves of tiles: a tile is swept top-down and bottom-up until a fixpoint, reading the region
+ * of the neighbour tiles at its borders, and when its region grows the neighbour tiles it touches join the next wave.
+ * Regions only grow, so the waves run out. Then the one cell border of numbered cells is added to the region, which may
+ * lie in tiles the region itself does not reach, and every revealed cell is recorded in the {@link RevealLog} of the game.
+ * <p>
+ * Tiles of a wave, and of the border, which the board has not generated yet are generated in one batch,
+ * in parallel when the board has a generation pool, see {@link Board#materializeTiles}.
+ */
+class TiledBitboardRevealEngine implements RevealEngine {
+    private final Board board;
+    private final RevealLog revealLog;
+    private final int tileRows;
+    private final int tileColumns;
+    private final Map<Long, TileMasks> tiles = new HashMap<>();
+
+    TiledBitboardRevealEngine(Board board, RevealLog revealLog) {
+        this.board = board;
+        this.revealLog = revealLog;
+        this.tileRows = (board.getRows() + TILE_SIZE - 1) >> TILE_SHIFT;
+        this.tileColumns = (board.getColumns() + TILE_SIZE - 1) >> TILE_SHIFT;
+    }
+
+    @Override
+    public void onBoardChanged() {
+        tiles.clear();
+    }
+
+    @Override
+    public long revealSafeCells(int row, int column) {
+        TileMasks root = tile(row >> TILE_SHIFT, column >> TILE_SHIFT);
+        int localRow = row & (TILE_SIZE - 1);
+        long rootBit = 1L << (column & (TILE_SIZE - 1));
+        if ((root.blackHoles[localRow] & rootBit) != 0 || (root.revealed[localRow] & rootBit) != 0) {
+            return 0;
+        }
+        if ((root.empty[localRow] & rootBit) == 0) {
+            return markRevealed(root, localRow, rootBit);
+        }
+
+        root.region[localRow] = rootBit;
+        List<TileMasks> regionTiles = new ArrayList<>();
+        List<TileMasks> wave = List.of(root);
+        root.queued = true;
+        while (!wave.isEmpty()) {
+            Set<Long> touched = new LinkedHashSet<>();
+            for (TileMasks tile : wave) {
+                tile.queued = false;
+                if (!tile.inRegion) {
+                    tile.inRegion = true;
+                    regionTiles.add(tile);
+                }
+                if (grow(tile)) {
+                    forEachTouchedNeighbour(tile, touched::add);
+                }
+            }
+            wave = new ArrayList<>();
+            for (TileMasks neighbour : tiles(touched)) {
+                if (!neighbour.queued) {
+                    neighbour.queued = true;
+                    wave.add(neighbour);
+                }
+            }
+        }
+
+        Set<Long> touched = new LinkedHashSet<>();
+        for (TileMasks tile : regionTiles) {
+            forEachTouchedNeighbour(tile, touched::add);
+        }
+        List<TileMasks> borderTiles = new ArrayList<>(regionTiles);
+        for (TileMasks neighbour : tiles(touched)) {
+            if (!neighbour.inRegion && !neighbour.queued) {
+                neighbour.queued = true;
+                borderTiles.add(neighbour);
+            }
+        }
+        long[][] opened = new long[borderTiles.size()][];
+        for (int i = 0; i < borderTiles.size(); i++) {
+            TileMasks tile = borderTiles.get(i);
+            opened[i] = new long[tile.height];
+            for (int r = 0; r < tile.height; r++) {
+                opened[i][r] = (dilatedRegion(tile, r) | tile.region[r]) & ~tile.blackHoles[r] & ~tile.revealed[r] & tile.widthMask;
+            }
+        }
+        long revealedCount = 0;
+        for (int i = 0; i < borderTiles.size(); i++) {
+            TileMasks tile = borderTiles.get(i);
+            for (int r = 0; r < tile.height; r++) {
+                revealedCount += markRevealed(tile, r, opened[i][r]);
+            }
+        }
+        for (TileMasks tile : borderTiles) {
+            Arrays.fill(tile.region, 0);
+            tile.inRegion = false;
+            tile.queued = false;
+        }
+        return revealedCount;
+    }
+
+    /**
+     * Grows the region of the tile until a fixpoint, seeded by the region of the tile and of its neighbours
+     *
+     * @return true if the region of the tile was extended
+     */
+    private boolean grow(TileMasks tile) {
+        boolean grown = false;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int r = 0; r < tile.height; r++) {
+                changed |= growRow(tile, r);
+            }
+            for (int r = tile.height - 1; r >= 0; r--) {
+                changed |= growRow(tile, r);
+            }
+            grown |= changed;
+        }
+        return grown;
+    }
+
+    /**
+     * Extends the seeds of the row along the runs of empty cells with a carry propagating addition in both directions
+     */
+    private boolean growRow(TileMasks tile, int r) {
+        long empty = tile.empty[r];
+        long seeds = (dilatedRegion(tile, r) | tile.region[r]) & empty;
+        if ((seeds & ~tile.region[r]) == 0) {
+            return false;
+        }
+        // bits of empty flipped by the carry chain are the runs above the seeds
+        long up = seeds | ((empty + seeds ^ empty) & empty);
+        long reversedEmpty = Long.reverse(empty);
+        long reversedSeeds = Long.reverse(seeds);
+        long down = Long.reverse(reversedSeeds | ((reversedEmpty + reversedSeeds ^ reversedEmpty) & reversedEmpty));
+        long filled = up | down;
+        if ((filled & ~tile.region[r]) == 0) {
+            return false;
+        }
+        tile.region[r] |= filled;
+        return true;
+    }
+
+    /**
+     * @return region of rows r-1, r and r+1 of the tile dilated by one column, borders are read from the neighbour tiles
+     */
+    private long dilatedRegion(TileMasks tile, int r) {
+        long dilated = 0;
+        for (int localRow = r - 1; localRow <= r + 1; localRow++) {
+            long word = regionWord(tile.tileRow, tile.tileColumn, localRow);
+            long left = regionWord(tile.tileRow, tile.tileColumn - 1, localRow);
+            long right = regionWord(tile.tileRow, tile.tileColumn + 1, localRow);
+            dilated |= word | (word << 1) | (word >>> 1) | (left >>> (TILE_SIZE - 1)) | (right << (TILE_SIZE - 1));
+        }
+        return dilated & tile.widthMask;
+    }
+
+    /**
+     * @param localRow - row of the tile in the range -1..64, out of tile rows fall into the tiles above and below
+     * @return region of the row, 0 for tiles out of the board or without masks
+     */
+    private long regionWord(int tileRow, int tileColumn, int localRow) {
+        if (localRow < 0) {
+            tileRow--;
+            localRow = TILE_SIZE - 1;
+        } else if (localRow >= TILE_SIZE) {
+            tileRow++;
+            localRow = 0;
+        }
+        if (tileRow < 0 || tileColumn < 0 || tileRow >= tileRows || tileColumn >= tileColumns) {
+            return 0;
+        }
+        TileMasks tile = tiles.get(key(tileRow, tileColumn));
+        return tile == null || localRow >= tile.height ? 0 : tile.region[localRow];
+    }
+
+    /**
+     * Visits keys of the neighbour tiles next to a border row, column or corner of the tile which belongs to the region
+     */
+    private void forEachTouchedNeighbour(TileMasks tile, LongConsumer action) {
+        long top = tile.region[0];
+        long bottom = tile.region[tile.height - 1];
+        long leftColumn = 0;
+        long rightColumn = 0;
+        long lastColumnBit = 1L << (TILE_SIZE - 1);
+        for (int r = 0; r < tile.height; r++) {
+            leftColumn |= tile.region[r] & 1L;
+            rightColumn |= tile.region[r] & lastColumnBit;
+        }
+        boolean[][] touched = {
+                {(top & 1L) != 0, top != 0, (top & lastColumnBit) != 0},
+                {leftColumn != 0, false, rightColumn != 0},
+                {(bottom & 1L) != 0, bottom != 0, (bottom & lastColumnBit) != 0}
+        };
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                int tileRow = tile.tileRow + dr;
+                int tileColumn = tile.tileColumn + dc;
+                if (touched[dr + 1][dc + 1] && tileRow >= 0 && tileColumn >= 0 && tileRow < tileRows && tileColumn < tileColumns) {
+                    action.accept(key(tileRow, tileColumn));
+                }
+            }
+        }
+    }
+
+    private long markRevealed(TileMasks tile, int r, long opened) {
+        tile.revealed[r] |= opened;
+        int row = (tile.tileRow << TILE_SHIFT) + r;
+        int firstColumn = tile.tileColumn << TILE_SHIFT;
+        long count = Long.bitCount(opened);
+        while (opened != 0) {
+            long index = board.indexOf(row, firstColumn + Long.numberOfTrailingZeros(opened));
+            board.setState(index, CellState.markAsRevealed(board.getState(index)));
+            revealLog.record(index);
+            opened &= opened - 1;
+        }
+        return count;
+    }
+
+    /**
+     * @return masks of the distinct tiles, tiles without masks are generated by the board in one batch first
+     */
+    private List<TileMasks> tiles(Collection<Long> keys) {
+        long[] missing = new long[keys.size()];
+        int count = 0;
+        for (long key : keys) {
+            if (!tiles.containsKey(key)) {
+                missing[count++] = key;
+            }
+        }
+        board.materializeTiles(missing, count);
+        List<TileMasks> masks = new ArrayList<>(keys.size());
+        for (long key : keys) {
+            masks.add(tile((int) (key / tileColumns), (int) (key % tileColumns)));
+        }
+        return masks;
+    }
+
+    private TileMasks tile(int tileRow, int tileColumn) {
+        return tiles.computeIfAbsent(key(tileRow, tileColumn), key -> buildMasks(tileRow, tileColumn));
+    }
+
+    private TileMasks buildMasks(int tileRow, int tileColumn) {
+        int height = Math.min(TILE_SIZE, board.getRows() - (tileRow << TILE_SHIFT));
+        int width = Math.min(TILE_SIZE, board.getColumns() - (tileColumn << TILE_SHIFT));
+        TileMasks tile = new TileMasks(tileRow, tileColumn, height, width);
+        for (int r = 0; r < height; r++) {
+            for (int c = 0; c < width; c++) {
+                byte state = board.getState(board.indexOf((tileRow << TILE_SHIFT) + r, (tileColumn << TILE_SHIFT) + c));
+                long bit = 1L << c;
+                if (CellState.isBlackHole(state)) {
+                    tile.blackHoles[r] |= bit;
+                } else if (CellState.getAdjacentBlackHolesCount(state) == 0) {
+                    tile.empty[r] |= bit;
+                }
+                if (CellState.isRevealed(state)) {
+                    tile.revealed[r] |= bit;
+                }
+            }
+        }
+        return tile;
+    }
+
+    private long key(int tileRow, int tileColumn) {
+        return (long) tileRow * tileColumns + tileColumn;
+    }
+
+    private static class TileMasks {
+        private final int tileRow;
+        private final int tileColumn;
+        private final int height;
+        private final long widthMask;
+        private final long[] empty;
+        private final long[] blackHoles;
+        private final long[] revealed;
+        private final long[] region;
+        private boolean queued;
+        private boolean inRegion;
+
+        private TileMasks(int tileRow, int tileColumn, int height, int width) {
+            this.tileRow = tileRow;
+            this.tileColumn = tileColumn;
+            this.height = height;
+            this.widthMask = width == TILE_SIZE ? -1L : (1L << width) - 1;
+            this.empty = new long[height];
+            this.blackHoles = new long[height];
+            this.revealed = new long[height];
+            this.region = new long[height];
+        }
+    }
+}
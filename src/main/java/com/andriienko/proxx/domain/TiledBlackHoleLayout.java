@@ -0,0 +1,77 @@
+package com.andriienko.proxx.domain;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import static com.andriienko.proxx.domain.ChunkedCellStorage.TILE_SHIFT;
+import static com.andriienko.proxx.domain.ChunkedCellStorage.TILE_SIZE;
+
+/**
+ * Deterministic black hole layout of a chunked board, generated tile by tile on demand.
+ * <p>
+ * Black holes are spread over tiles in row-major order proportionally to the number of cells:
+ * tiles covering cells [from, to) get floor(K * to / N) - floor(K * from / N) black holes,
+ * so the quotas always sum up to exactly K. Inside a tile the positions are sampled with Floyd's algorithm
+ * from a generator seeded by the layout seed and the tile coordinates, therefore any tile can be regenerated
+ * at any time, in O(quota), without generating the rest of the board.
+ */
+class TiledBlackHoleLayout {
+    private static final long TILE_SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int rows;
+    private final int columns;
+    private final int tileColumns;
+    private final long size;
+    private final long blackHolesNumber;
+    private final long seed;
+
+    TiledBlackHoleLayout(int rows, int columns, long blackHolesNumber, long seed) {
+        this.rows = rows;
+        this.columns = columns;
+        this.tileColumns = (columns + TILE_SIZE - 1) >> TILE_SHIFT;
+        this.size = (long) rows * columns;
+        this.blackHolesNumber = blackHolesNumber;
+        this.seed = seed;
+    }
+
+    /**
+     * @return one long per local row of the tile, bit c is set when the cell at local column c is a black hole
+     */
+    long[] blackHoleMask(int tileRow, int tileColumn) {
+        long[] mask = new long[TILE_SIZE];
+        int height = Math.min(TILE_SIZE, rows - (tileRow << TILE_SHIFT));
+        int width = Math.min(TILE_SIZE, columns - (tileColumn << TILE_SHIFT));
+        long cellsBefore = ((long) tileRow << TILE_SHIFT) * columns + (long) height * (tileColumn << TILE_SHIFT);
+        int cells = height * width;
+        int quota = (int) (quotaUpTo(cellsBefore + cells) - quotaUpTo(cellsBefore));
+
+        long tileIndex = (long) tileRow * tileColumns + tileColumn;
+        SplittableRandom random = new SplittableRandom(seed ^ (tileIndex * TILE_SEED_GAMMA));
+        for (int j = cells - quota; j < cells; j++) {
+            int position = random.nextInt(j + 1);
+            if (isSet(mask, position, width)) {
+                position = j;
+            }
+            mask[position / width] |= 1L << (position % width);
+        }
+        return mask;
+    }
+
+    private static boolean isSet(long[] mask, int position, int width) {
+        return (mask[position / width] & (1L << (position % width))) != 0;
+    }
+
+    /**
+     * @return floor(K * cells / N) - number of black holes placed in the first {@code cells} cells in tile order
+     */
+    private long quotaUpTo(long cells) {
+        long product = blackHolesNumber * cells;
+        if (Math.multiplyHigh(blackHolesNumber, cells) == 0 && product >= 0) {
+            return product / size;
+        }
+        return BigInteger.valueOf(blackHolesNumber)
+                .multiply(BigInteger.valueOf(cells))
+                .divide(BigInteger.valueOf(size))
+                .longValueExact();
+    }
+}
@@ -0,0 +1,16 @@
+package com.andriienko.proxx.enums;
+
+/**
+ * Storage layout used by a board for its cells.
+ * <p>
+ * OBJECT - one Cell object per square, suitable for small boards and tests.
+ * <p>
+ * PACKED - one byte per square in a flat array indexed by row * columns + column.
+ * <p>
+ * CHUNKED - one byte per square in 64x64 tiles allocated on first touch, for boards far beyond the flat limits.
+ */
+public enum BoardMode {
+    OBJECT,
+    PACKED,
+    CHUNKED
+}
@@ -0,0 +1,14 @@
+package com.andriienko.proxx.enums;
+
+/**
+ * Algorithm used to open connected empty cells.
+ * <p>
+ * FLOOD_FILL - cell by cell traversal, cost is proportional to the number of revealed cells.
+ * <p>
+ * BITBOARD - word parallel dilation of row bitsets, 64 cells per operation, fits big boards with large empty regions.
+ * Flat boards keep the masks of the whole board, chunked boards keep them per 64x64 tile reached by reveals.
+ */
+public enum RevealMode {
+    FLOOD_FILL,
+    BITBOARD
+}
@@ -0,0 +1,23 @@
+package com.andriienko.proxx.enums;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Direction of a viewport scroll, entered in the console as w, a, s or d
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum ScrollDirection {
+    UP("w", -1, 0),
+    LEFT("a", 0, -1),
+    DOWN("s", 1, 0),
+    RIGHT("d", 0, 1);
+
+    String command;
+    int rows;
+    int columns;
+}
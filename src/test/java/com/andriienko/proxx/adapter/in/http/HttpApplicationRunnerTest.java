@@ -0,0 +1,142 @@
+package com.andriienko.proxx.adapter.in.http;
+
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.application.service.ProxxGameService;
+import com.andriienko.proxx.application.service.SerializedGameService;
+import com.andriienko.proxx.domain.GameFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpApplicationRunnerTest {
+    private static final Pattern GAME_ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final ExecutorService mailboxExecutor = Executors.newFixedThreadPool(2);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HttpApplicationRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+        runner = new HttpApplicationRunner(new SerializedGameService(
+                new ProxxGameService(new GameFactory(), gameRepository, new GameMapper()),
+                new GameMailboxes(mailboxExecutor, gameRepository)
+        ), new InetSocketAddress("localhost", 0));
+        runner.run();
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.stop();
+        mailboxExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Creates a game, reveals a cell and reads the board")
+    void shouldPlayGame() throws Exception {
+        HttpResponse<String> created = send("POST", "/games?rows=5&columns=5&blackHoles=1&seed=7");
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().matches("\\{\"id\":\\d+,\"status\":\"IN_PROGRESS\",\"rows\":5,\"columns\":5,\"blackHoles\":1,\"revealed\":0,\"seed\":7}"),
+                created.body());
+        long gameId = gameId(created);
+
+        HttpResponse<String> board = send("GET", "/games/" + gameId + "/board");
+        assertEquals("{\"fromRow\":0,\"fromColumn\":0,\"cells\":[\".....\",\".....\",\".....\",\".....\",\".....\"]}", board.body());
+
+        HttpResponse<String> window = send("GET", "/games/" + gameId + "/board?fromRow=1&fromColumn=2&rows=1&columns=2");
+        assertEquals("{\"fromRow\":1,\"fromColumn\":2,\"cells\":[\"..\"]}", window.body());
+
+        HttpResponse<String> revealed = send("POST", "/games/" + gameId + "/reveal?row=0&column=0");
+        assertEquals(200, revealed.statusCode());
+        assertTrue(revealed.body().startsWith("{\"id\":" + gameId + ",\"status\":\""), revealed.body());
+        assertNotEquals(board.body(), send("GET", "/games/" + gameId + "/board").body());
+    }
+
+    @Test
+    @DisplayName("Reports invalid requests and unknown games as JSON errors")
+    void shouldReportErrors() throws Exception {
+        HttpResponse<String> invalidBoard = send("POST", "/games?rows=1&columns=5&blackHoles=1");
+        assertEquals(400, invalidBoard.statusCode());
+        assertTrue(invalidBoard.body().startsWith("{\"error\":\"Invalid board dimensions"), invalidBoard.body());
+
+        assertEquals(400, send("POST", "/games?rows=5&columns=5").statusCode());
+        HttpResponse<String> unknownGame = send("POST", "/games/12345/reveal?row=0&column=0");
+        assertEquals(404, unknownGame.statusCode());
+        assertEquals("{\"error\":\"There is no game with id 12345\"}", unknownGame.body());
+        assertEquals(404, send("POST", "/games/12345/flag").statusCode());
+        assertEquals(405, send("GET", "/games").statusCode());
+    }
+
+    @Test
+    @DisplayName("Answers moves of a finished game with 409")
+    void shouldRejectMoveAfterGameOver() throws Exception {
+        long gameId = gameId(send("POST", "/games?rows=3&columns=3&blackHoles=8&seed=7"));
+        HttpResponse<String> lastMove = send("POST", "/games/" + gameId + "/reveal?row=0&column=0");
+        assertEquals(200, lastMove.statusCode());
+        assertFalse(lastMove.body().contains("IN_PROGRESS"), lastMove.body());
+
+        HttpResponse<String> rejected = send("POST", "/games/" + gameId + "/reveal?row=1&column=1");
+
+        assertEquals(409, rejected.statusCode());
+        assertTrue(rejected.body().startsWith("{\"error\":\"Game is over"), rejected.body());
+    }
+
+    @Test
+    @DisplayName("Deleted game is no longer available")
+    void shouldDeleteGame() throws Exception {
+        long gameId = gameId(send("POST", "/games?rows=5&columns=5&blackHoles=1"));
+
+        assertEquals(204, send("DELETE", "/games/" + gameId).statusCode());
+        assertEquals(404, send("GET", "/games/" + gameId + "/board").statusCode());
+    }
+
+    @Test
+    @DisplayName("Answers unexpected failures with 500 instead of dropping the connection")
+    void shouldReportUnexpectedFailure() throws Exception {
+        PlayGameUseCase gameService = mock(PlayGameUseCase.class);
+        when(gameService.newGame(5, 5, 1)).thenThrow(new UnsupportedOperationException("secret details"));
+        runner.stop();
+        runner = new HttpApplicationRunner(gameService, new InetSocketAddress("localhost", 0));
+        runner.run();
+
+        HttpResponse<String> failed = send("POST", "/games?rows=5&columns=5&blackHoles=1");
+
+        assertEquals(500, failed.statusCode());
+        assertEquals("{\"error\":\"Internal error\"}", failed.body());
+    }
+
+    private HttpResponse<String> send(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + runner.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long gameId(HttpResponse<String> response) {
+        Matcher matcher = GAME_ID.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -0,0 +1,187 @@
+package com.andriienko.proxx.adapter.in.tcp;
+
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.application.port.in.PlayGameUseCase;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.application.service.ProxxGameService;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+public class TcpApplicationRunnerTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private TcpApplicationRunner runner;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+        runner = new TcpApplicationRunner(
+                new ProxxGameService(new GameFactory(BoardMode.CHUNKED), gameRepository, new GameMapper()),
+                new GameMailboxes(executor, gameRepository),
+                new InetSocketAddress("localhost", 0));
+        runner.run();
+        address = new InetSocketAddress("localhost", runner.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.stop();
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,0", "5,7,3", "999999,1048575,8", "1048575,0,15"})
+    @DisplayName("Packs a changed cell into 6 bytes")
+    void shouldPackCell(int row, int column, int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryProtocol.CELL_SIZE);
+
+        BinaryProtocol.putCell(buffer, row, column, count);
+        buffer.flip();
+        long cell = BinaryProtocol.getCell(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(row, BinaryProtocol.cellRow(cell));
+        assertEquals(column, BinaryProtocol.cellColumn(cell));
+        assertEquals(count, BinaryProtocol.cellCount(cell));
+    }
+
+    @Test
+    @DisplayName("Creates a game and streams a reveal larger than the write buffer")
+    void shouldStreamLargeReveal() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(address)) {
+            BinaryGameClient.Response created = client.newGame(300, 300, 1, 42L);
+            assertEquals(BinaryProtocol.OK, created.getResult());
+            assertEquals(GameStatus.IN_PROGRESS, created.getGameStatus());
+            assertEquals(42L, created.getSeed());
+            long gameId = created.getGameId();
+
+            BinaryGameClient.Response revealed = client.revealCell(gameId, 0, 0);
+
+            assertEquals(BinaryProtocol.OK, revealed.getResult());
+            assertFalse(revealed.isFullRefresh());
+            assertEquals(gameId, revealed.getGameId());
+            assertTrue(revealed.getCellsNumber() * BinaryProtocol.CELL_SIZE > 64 * 1024);
+            assertEquals(revealed.getRevealedCellsNumber(), revealed.getCellsNumber());
+            Set<Long> distinct = new HashSet<>();
+            for (int i = 0; i < revealed.getCellsNumber(); i++) {
+                long cell = revealed.getCell(i);
+                assertTrue(BinaryProtocol.cellRow(cell) < 300 && BinaryProtocol.cellColumn(cell) < 300);
+                distinct.add(cell);
+            }
+            assertEquals(revealed.getCellsNumber(), distinct.size());
+
+            assertEquals(BinaryProtocol.OK, client.removeGame(gameId).getResult());
+            assertEquals(BinaryProtocol.BAD_REQUEST, client.revealCell(gameId, 0, 0).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Answers moves of a finished game with CONFLICT and keeps the connection")
+    void shouldRejectMoveAfterGameOver() throws IOException {
+        try (BinaryGameClient client = new BinaryGameClient(address)) {
+            long gameId = client.newGame(3, 3, 8, 7L).getGameId();
+            BinaryGameClient.Response lastMove = client.revealCell(gameId, 0, 0);
+            assertEquals(BinaryProtocol.OK, lastMove.getResult());
+            assertNotEquals(GameStatus.IN_PROGRESS, lastMove.getGameStatus());
+
+            assertEquals(BinaryProtocol.CONFLICT, client.revealCell(gameId, 1, 1).getResult());
+            assertEquals(BinaryProtocol.OK, client.removeGame(gameId).getResult());
+        }
+    }
+
+    @Test
+    @DisplayName("Answers pipelined requests in order")
+    void shouldAnswerPipelinedRequests() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer requests = ByteBuffer.allocate(BinaryProtocol.REQUEST_SIZE * 3);
+            BinaryProtocol.putNewGame(requests, 3, 3, 1, 1L);
+            BinaryProtocol.putNewGame(requests, 1, 3, 1, 1L);
+            BinaryProtocol.putNewGame(requests, 4, 4, 1, 2L);
+            requests.flip();
+            while (requests.hasRemaining()) {
+                channel.write(requests);
+            }
+
+            ByteBuffer responses = ByteBuffer.allocate(BinaryProtocol.RESPONSE_HEADER_SIZE * 3);
+            while (responses.hasRemaining()) {
+                channel.read(responses);
+            }
+
+            assertEquals(BinaryProtocol.OK, responses.get(0));
+            assertEquals(BinaryProtocol.BAD_REQUEST, responses.get(BinaryProtocol.RESPONSE_HEADER_SIZE));
+            assertEquals(BinaryProtocol.OK, responses.get(BinaryProtocol.RESPONSE_HEADER_SIZE * 2));
+            assertEquals(2L, responses.getLong(BinaryProtocol.RESPONSE_HEADER_SIZE * 2 + 24));
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects unknown commands")
+    void shouldRejectUnknownCommand() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            ByteBuffer request = ByteBuffer.allocate(BinaryProtocol.REQUEST_SIZE);
+            request.put(0, (byte) 42);
+            channel.write(request);
+
+            ByteBuffer response = ByteBuffer.allocate(BinaryProtocol.RESPONSE_HEADER_SIZE);
+            while (response.hasRemaining()) {
+                channel.read(response);
+            }
+
+            assertEquals(BinaryProtocol.BAD_REQUEST, response.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Serves other connections while a command of one connection is still running")
+    void shouldNotBlockSelectorOnSlowCommand() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+        PlayGameUseCase gameService = spy(new ProxxGameService(new GameFactory(BoardMode.PACKED), gameRepository, new GameMapper()));
+        doAnswer(invocation -> {
+            release.await();
+            return invocation.callRealMethod();
+        }).when(gameService).newGame(50, 50, 10, 1L);
+        TcpApplicationRunner slowRunner = new TcpApplicationRunner(gameService, new GameMailboxes(executor, gameRepository), new InetSocketAddress("localhost", 0));
+        slowRunner.run();
+        InetSocketAddress slowAddress = new InetSocketAddress("localhost", slowRunner.getPort());
+        try (BinaryGameClient slowClient = new BinaryGameClient(slowAddress);
+             BinaryGameClient client = new BinaryGameClient(slowAddress)) {
+            Future<BinaryGameClient.Response> slow = executor.submit(() -> slowClient.newGame(50, 50, 10, 1L));
+
+            assertEquals(BinaryProtocol.OK, client.newGame(5, 5, 1, 2L).getResult());
+            assertFalse(slow.isDone());
+            release.countDown();
+            assertEquals(BinaryProtocol.OK, slow.get(5, TimeUnit.SECONDS).getResult());
+        } finally {
+            release.countDown();
+            slowRunner.stop();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InMemoryGameRepositoryTest {
+    private final GameFactory gameFactory = new GameFactory();
+    private InMemoryGameRepository gameRepository;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = new InMemoryGameRepository();
+    }
+
+    @Test
+    @DisplayName("Exception is thrown for unknown game id")
+    void shouldThrowExceptionForUnknownId() {
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.get(0L));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.get(-1L));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Keeps every saved game under its own id, across many segments")
+    void shouldSaveAndGetGames() {
+        List<Game> games = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            Game game = gameFactory.createGameWithRandomlyDistributedHoles(3, 3, 1);
+            games.add(game);
+            ids.add(gameRepository.save(game));
+        }
+
+        assertEquals(200_000, gameRepository.size());
+        assertEquals(200_000, new HashSet<>(ids).size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertSame(games.get(i), gameRepository.get(ids.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Id of a deleted game does not reach a game which reuses its slot")
+    void shouldInvalidateIdOfDeletedGame() {
+        Game deleted = gameFactory.createGameWithRandomlyDistributedHoles(3, 3, 1);
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(3, 3, 1);
+        long deletedId = gameRepository.save(deleted);
+
+        gameRepository.delete(deletedId);
+        long gameId = gameRepository.save(game);
+        gameRepository.delete(deletedId);
+
+        assertNotEquals(deletedId, gameId);
+        assertEquals((int) deletedId, (int) gameId);
+        assertSame(game, gameRepository.get(gameId));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.get(deletedId));
+        assertEquals(1, gameRepository.size());
+    }
+
+    @Test
+    @DisplayName("Saves, reads and deletes games from many threads")
+    void shouldHandleConcurrentAccess() throws Exception {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(3, 3, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Set<Long>>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    Set<Long> kept = new HashSet<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        long gameId = gameRepository.save(game);
+                        assertSame(game, gameRepository.get(gameId));
+                        if (i % 2 == 0) {
+                            gameRepository.delete(gameId);
+                            assertThrows(IllegalArgumentException.class, () -> gameRepository.get(gameId));
+                        } else {
+                            kept.add(gameId);
+                        }
+                    }
+                    return kept;
+                }));
+            }
+            Set<Long> kept = new HashSet<>();
+            for (Future<Set<Long>> result : results) {
+                kept.addAll(result.get());
+            }
+
+            assertEquals(8 * 10_000, kept.size());
+            assertEquals(kept.size(), gameRepository.size());
+            for (long gameId : kept) {
+                assertSame(game, gameRepository.get(gameId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
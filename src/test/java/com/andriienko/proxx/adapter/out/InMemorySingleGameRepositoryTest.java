@@ -22,17 +22,28 @@ public class InMemorySingleGameRepositoryTest {
     @Test
     @DisplayName("Exception is thrown when no saved game")
     void shouldThrowExceptionWhenGettingUninitialized() {
-        assertThrows(IllegalStateException.class, gameRepository::get);
+        assertThrows(IllegalStateException.class, () -> gameRepository.get(1L));
     }
 
     @Test
     @DisplayName("Saves and get game")
     void shouldSaveAndGetGame() {
         Game expectedGame = new GameFactory().createGameWithRandomlyDistributedHoles(5, 5, 1);
-        Game actualGame = gameRepository.save(expectedGame);
-        assertEquals(expectedGame, actualGame);
+        long gameId = gameRepository.save(expectedGame);
 
-        actualGame = gameRepository.get();
+        Game actualGame = gameRepository.get(gameId);
         assertEquals(expectedGame, actualGame);
     }
+
+    @Test
+    @DisplayName("Saving a new game invalidates the id of the previous one")
+    void shouldReplacePreviousGame() {
+        GameFactory gameFactory = new GameFactory();
+        long previousId = gameRepository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 1));
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 1);
+        long gameId = gameRepository.save(game);
+
+        assertEquals(game, gameRepository.get(gameId));
+        assertThrows(IllegalArgumentException.class, () -> gameRepository.get(previousId));
+    }
 }
@@ -0,0 +1,238 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournaledGameRepositoryTest {
+    private static final long SEGMENT_SIZE = 4096;
+
+    private final GameFactory gameFactory = new GameFactory(BoardMode.PACKED);
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @CsvSource({"IN_PROGRESS, 1000000", "WIN, 1000000", "LOSE, 1000000", "IN_PROGRESS, 50", "WIN, 50", "LOSE, 50"})
+    @DisplayName("Replays saved games and their moves after reopening, with and without snapshots")
+    void shouldRestoreGamesAfterReopening(GameStatus expectedStatus, int snapshotEveryRecords) throws IOException {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(100, 100, expectedStatus == GameStatus.IN_PROGRESS ? 1500 : 1, 42L);
+        long gameId;
+        try (JournaledGameRepository repository = open(snapshotEveryRecords)) {
+            gameId = repository.save(game);
+            playUntil(game, expectedStatus, repository, gameId);
+        }
+
+        try (JournaledGameRepository repository = open(snapshotEveryRecords)) {
+            Game restored = repository.get(gameId);
+
+            assertNotSame(game, restored);
+            assertEquals(1, repository.size());
+            assertEquals(expectedStatus, restored.getStatus());
+            assertEquals(game.getRevealedCellsNumber(), restored.getRevealedCellsNumber());
+            assertEquals(game.getBlackHolesNumber(), restored.getBlackHolesNumber());
+            assertEquals(game.getSeed(), restored.getSeed());
+            assertSameCells(game.getBoard(), restored.getBoard());
+        }
+    }
+
+    @Test
+    @DisplayName("Deleted games stay deleted after reopening and their ids are not reused")
+    void shouldReplayDeletes() throws IOException {
+        long deletedId;
+        long keptId;
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            deletedId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            keptId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(8, 8, 10));
+            repository.delete(deletedId);
+        }
+
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            assertEquals(1, repository.size());
+            assertThrows(IllegalArgumentException.class, () -> repository.get(deletedId));
+            assertEquals(64, repository.get(keptId).getSize());
+
+            long gameId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            assertNotEquals(deletedId, gameId);
+            assertNotEquals(keptId, gameId);
+        }
+    }
+
+    @Test
+    @DisplayName("Cuts off a torn record at the end of the journal and appends after the last valid one")
+    void shouldCutOffTornRecord() throws IOException {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 10, 7L);
+        long gameId;
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            gameId = repository.save(game);
+        }
+        Path lastSegment = journalSegments().get(journalSegments().size() - 1);
+        Files.write(lastSegment, new byte[]{MoveJournal.CELL_REVEALED, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        long nextGameId;
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            assertEquals(GameStatus.IN_PROGRESS, repository.get(gameId).getStatus());
+            assertEquals(0, repository.get(gameId).getRevealedCellsNumber());
+            nextGameId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+        }
+
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            assertEquals(2, repository.size());
+            assertEquals(25, repository.get(nextGameId).getSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Drops a game whose black holes were cut off in the middle of its save")
+    void shouldDropIncompleteGame() throws IOException {
+        long keptId;
+        long cutId;
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            keptId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3, 1L));
+            cutId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 10, 7L));
+        }
+        // keeps the record of the game and 4 of its 10 black holes, as if the machine crashed during the write
+        Path lastSegment = journalSegments().get(journalSegments().size() - 1);
+        try (FileChannel segment = FileChannel.open(lastSegment, StandardOpenOption.WRITE)) {
+            segment.truncate(segment.size() - 6L * MoveJournal.RECORD_SIZE);
+        }
+
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            assertEquals(1, repository.size());
+            assertEquals(3, repository.get(keptId).getBlackHolesNumber());
+            assertThrows(GameNotFoundException.class, () -> repository.get(cutId));
+            assertNotEquals(cutId, repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3)));
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshots replace the journal segments they cover")
+    void shouldDropSegmentsCoveredBySnapshots() throws IOException {
+        long[] gameIds = new long[300];
+        try (JournaledGameRepository repository = open(100)) {
+            for (int game = 0; game < gameIds.length; game++) {
+                gameIds[game] = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            }
+        }
+
+        assertTrue(journalSegments().size() <= 2, "Segments covered by snapshots should be deleted");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).count());
+        }
+        try (JournaledGameRepository repository = open(100)) {
+            assertEquals(gameIds.length, repository.size());
+            for (long gameId : gameIds) {
+                assertEquals(3, repository.get(gameId).getBlackHolesNumber());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Moves of games played concurrently are committed together and replayed")
+    void shouldReplayConcurrentMoves() throws Exception {
+        int threads = 8;
+        List<Game> games = IntStream.range(0, threads)
+                .mapToObj(seed -> gameFactory.createGameWithRandomlyDistributedHoles(30, 30, 1, seed))
+                .toList();
+        long[] gameIds = new long[threads];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (JournaledGameRepository repository = new JournaledGameRepository(directory, gameFactory, SEGMENT_SIZE, 16, 500)) {
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                        gameIds[thread] = repository.save(games.get(thread));
+                        playUntil(games.get(thread), GameStatus.WIN, repository, gameIds[thread]);
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (JournaledGameRepository repository = open(500)) {
+            assertEquals(threads, repository.size());
+            for (int thread = 0; thread < threads; thread++) {
+                assertSameCells(games.get(thread).getBoard(), repository.get(gameIds[thread]).getBoard());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects chunked boards and games with revealed cells")
+    void shouldRejectUnsupportedGames() throws IOException {
+        Game chunked = new GameFactory(BoardMode.CHUNKED).createGameWithRandomlyDistributedHoles(1000, 1000, 10);
+        Game started = gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 1, 3L);
+        started.revealCell(started.getBoard().isBlackHoleAt(0, 0) ? 4 : 0, 0);
+        try (JournaledGameRepository repository = open(1_000_000)) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(chunked));
+            assertThrows(IllegalArgumentException.class, () -> repository.save(started));
+            assertThrows(IllegalArgumentException.class, () -> repository.update(1, started));
+        }
+    }
+
+    private JournaledGameRepository open(int snapshotEveryRecords) throws IOException {
+        return new JournaledGameRepository(directory, gameFactory, SEGMENT_SIZE, 1, snapshotEveryRecords);
+    }
+
+    private List<Path> journalSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+
+    /**
+     * Reveals safe cells, or the black hole for LOSE, one by one: all of them for WIN, at least 200 cells for IN_PROGRESS
+     */
+    private static void playUntil(Game game, GameStatus status, JournaledGameRepository repository, long gameId) {
+        Board board = game.getBoard();
+        for (int index = 0; index < game.getSize() && game.getStatus() == GameStatus.IN_PROGRESS; index++) {
+            if (status == GameStatus.IN_PROGRESS && game.getRevealedCellsNumber() >= 200) {
+                break;
+            }
+            int row = index / board.getColumns();
+            int column = index % board.getColumns();
+            if (!board.isRevealedAt(row, column) && board.isBlackHoleAt(row, column) == (status == GameStatus.LOSE)) {
+                game.revealCell(row, column);
+                repository.update(gameId, game);
+            }
+        }
+        assertEquals(status, game.getStatus());
+    }
+
+    private static void assertSameCells(Board expected, Board actual) {
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int column = 0; column < expected.getColumns(); column++) {
+                assertEquals(expected.isBlackHoleAt(row, column), actual.isBlackHoleAt(row, column));
+                assertEquals(expected.isRevealedAt(row, column), actual.isRevealedAt(row, column));
+                assertEquals(expected.getAdjacentBlackHolesCountAt(row, column), actual.getAdjacentBlackHolesCountAt(row, column));
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.andriienko.proxx.adapter.out;
+
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedGameRepositoryTest {
+    private final GameFactory gameFactory = new GameFactory(BoardMode.PACKED);
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(value = GameStatus.class)
+    @DisplayName("Reattaches saved games and their moves after reopening")
+    void shouldRestoreGamesAfterReopening(GameStatus expectedStatus) throws IOException {
+        Path file = directory.resolve("games.bin");
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(100, 100, expectedStatus == GameStatus.IN_PROGRESS ? 1500 : 1, 42L);
+        long gameId;
+        try (MappedGameRepository repository = new MappedGameRepository(file, 16, gameFactory)) {
+            gameId = repository.save(game);
+            playUntil(game, expectedStatus, repository, gameId);
+            assertSame(game, repository.get(gameId));
+        }
+
+        try (MappedGameRepository repository = new MappedGameRepository(file, 16, gameFactory)) {
+            Game restored = repository.get(gameId);
+
+            assertNotSame(game, restored);
+            assertEquals(1, repository.size());
+            assertEquals(expectedStatus, restored.getStatus());
+            assertEquals(game.getRevealedCellsNumber(), restored.getRevealedCellsNumber());
+            assertEquals(game.getBlackHolesNumber(), restored.getBlackHolesNumber());
+            assertEquals(game.getSeed(), restored.getSeed());
+            assertSameCells(game.getBoard(), restored.getBoard());
+        }
+    }
+
+    @Test
+    @DisplayName("Id of a deleted game does not reach a game which reuses its slot")
+    void shouldInvalidateIdOfDeletedGame() throws IOException {
+        try (MappedGameRepository repository = new MappedGameRepository(directory.resolve("games.bin"), 1, gameFactory)) {
+            long deletedId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            assertThrows(IllegalStateException.class, () -> repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3)));
+
+            repository.delete(deletedId);
+            Game game = gameFactory.createGameWithRandomlyDistributedHoles(8, 8, 10);
+            long gameId = repository.save(game);
+
+            assertNotEquals(deletedId, gameId);
+            assertSame(game, repository.get(gameId));
+            assertThrows(IllegalArgumentException.class, () -> repository.get(deletedId));
+            assertThrows(IllegalArgumentException.class, () -> repository.get(gameId + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps deleted slots free and saved ones occupied after reopening")
+    void shouldRestoreOccupiedSlotsAfterReopening() throws IOException {
+        Path file = directory.resolve("games.bin");
+        long deletedId;
+        long gameId;
+        try (MappedGameRepository repository = new MappedGameRepository(file, 2, gameFactory)) {
+            deletedId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            gameId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            repository.delete(deletedId);
+        }
+
+        try (MappedGameRepository repository = new MappedGameRepository(file, 2, gameFactory)) {
+            assertEquals(1, repository.size());
+            assertEquals(5, repository.get(gameId).getBoard().getRows());
+            assertThrows(IllegalArgumentException.class, () -> repository.get(deletedId));
+
+            long reusedId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+
+            assertNotEquals(deletedId, reusedId);
+            assertThrows(IllegalStateException.class, () -> repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3)));
+        }
+    }
+
+    @Test
+    @DisplayName("Releases a slot marked as occupied by a save interrupted by a crash")
+    void shouldReleaseSlotOfInterruptedSave() throws IOException {
+        Path file = directory.resolve("games.bin");
+        long gameId;
+        try (MappedGameRepository repository = new MappedGameRepository(file, 2, gameFactory)) {
+            gameId = repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+        }
+        // the state of a crash right after the second slot was marked: not closed, no game written into the slot
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 0b11), MappedGameRepository.OCCUPIED_SLOTS);
+            channel.write(ByteBuffer.allocate(Integer.BYTES), MappedGameRepository.HEADER_CLOSED);
+        }
+
+        try (MappedGameRepository repository = new MappedGameRepository(file, 2, gameFactory)) {
+            assertEquals(1, repository.size());
+            assertEquals(5, repository.get(gameId).getBoard().getRows());
+            repository.save(gameFactory.createGameWithRandomlyDistributedHoles(5, 5, 3));
+            assertEquals(2, repository.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a file reopened with another capacity")
+    void shouldRejectAnotherCapacity() throws IOException {
+        Path file = directory.resolve("games.bin");
+        new MappedGameRepository(file, 2, gameFactory).close();
+
+        assertThrows(IllegalArgumentException.class, () -> new MappedGameRepository(file, 3, gameFactory));
+    }
+
+    @Test
+    @DisplayName("Rejects games which do not fit into a slot")
+    void shouldRejectChunkedBoards() throws IOException {
+        Game chunked = new GameFactory(BoardMode.CHUNKED).createGameWithRandomlyDistributedHoles(1000, 1000, 10);
+        try (MappedGameRepository repository = new MappedGameRepository(directory.resolve("games.bin"), 1, gameFactory)) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(chunked));
+        }
+    }
+
+    /**
+     * Reveals safe cells, or the black hole for LOSE, one by one: all of them for WIN, at least 200 cells for IN_PROGRESS
+     */
+    private static void playUntil(Game game, GameStatus status, MappedGameRepository repository, long gameId) {
+        Board board = game.getBoard();
+        for (int index = 0; index < game.getSize() && game.getStatus() == GameStatus.IN_PROGRESS; index++) {
+            if (status == GameStatus.IN_PROGRESS && game.getRevealedCellsNumber() >= 200) {
+                break;
+            }
+            int row = index / board.getColumns();
+            int column = index % board.getColumns();
+            if (!board.isRevealedAt(row, column) && board.isBlackHoleAt(row, column) == (status == GameStatus.LOSE)) {
+                game.revealCell(row, column);
+                repository.update(gameId, game);
+            }
+        }
+        assertEquals(status, game.getStatus());
+    }
+
+    private static void assertSameCells(Board expected, Board actual) {
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int column = 0; column < expected.getColumns(); column++) {
+                assertEquals(expected.isBlackHoleAt(row, column), actual.isBlackHoleAt(row, column));
+                assertEquals(expected.isRevealedAt(row, column), actual.isRevealedAt(row, column));
+                assertEquals(expected.getAdjacentBlackHolesCountAt(row, column), actual.getAdjacentBlackHolesCountAt(row, column));
+            }
+        }
+    }
+}
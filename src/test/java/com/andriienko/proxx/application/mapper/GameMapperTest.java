@@ -1,17 +1,28 @@
 package com.andriienko.proxx.application.mapper;
 
 import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.CellChange;
 import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.dto.LiveBoardView;
 import com.andriienko.proxx.domain.Cell;
 import com.andriienko.proxx.domain.Game;
 import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+
 import static com.andriienko.proxx.TestUtils.BOARD_DIMENSION_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GameMapperTest {
     GameFactory gameFactory;
@@ -27,8 +38,9 @@ public class GameMapperTest {
     @DisplayName("Game -> GameView transformation test")
     void shouldTransformGameToGameView() {   // Create a real game instance
         Game game = gameFactory.createGameWithRandomlyDistributedHoles(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE, 1);
-        GameView gameView = gameMapper.transformToGameView(game);
+        GameView gameView = gameMapper.transformToGameView(1L, game);
 
+        assertEquals(1L, gameView.getGameId());
         assertEquals(game.getRevealedCellsNumber(), gameView.getRevealedCellsNumber());
         assertEquals(game.getBlackHolesNumber(), gameView.getBlackHolesNumber());
         assertEquals(game.getSize(), gameView.getSize());
@@ -51,4 +63,176 @@ public class GameMapperTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Game -> BoardView window transformation test")
+    void shouldTransformWindowOfBoard() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 20);
+        BoardView boardView = gameMapper.transformToBoardView(game, 7, 2, 5, 4);
+
+        assertEquals(3, boardView.getRows());
+        assertEquals(4, boardView.getColumns());
+        for (int row = 0; row < boardView.getRows(); row++) {
+            for (int col = 0; col < boardView.getColumns(); col++) {
+                Cell cell = game.getBoard().getCellAt(7 + row, 2 + col);
+                CellView cellView = boardView.getCells()[row][col];
+                assertEquals(cell.isBlackHole(), cellView.isBlackHole());
+                assertEquals(cell.getAdjacentBlackHolesCount(), cellView.getAdjacentBlackHolesCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Game -> GameDelta lists only cells revealed by the last move")
+    void shouldTransformLastMoveToGameDelta() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(20, 20, 30, 5L);
+        int[] safeCell = findSafeCell(game);
+        game.revealCell(safeCell[0], safeCell[1]);
+
+        GameDelta delta = gameMapper.transformToGameDelta(1L, game);
+
+        assertFalse(delta.isFullRefresh());
+        assertEquals(game.getRevealedCellsNumber(), delta.getChangedCells().size());
+        assertEquals(game.getStatus(), delta.getStatus());
+        for (CellChange change : delta.getChangedCells()) {
+            Cell cell = game.getBoard().getCellAt(change.getRow(), change.getColumn());
+            assertTrue(cell.isRevealed());
+            assertTrue(change.getCell().isRevealed());
+            assertEquals(cell.getAdjacentBlackHolesCount(), change.getCell().getAdjacentBlackHolesCount());
+        }
+
+        game.revealCell(safeCell[0], safeCell[1]);
+        assertEquals(0, gameMapper.transformToGameDelta(1L, game).getChangedCells().size());
+    }
+
+    @Test
+    @DisplayName("Game -> GameDelta requires full refresh when black hole is revealed")
+    void shouldRequireFullRefreshWhenBlackHoleRevealed() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 99, 5L);
+        for (int row = 0; row < 10; row++) {
+            for (int column = 0; column < 10; column++) {
+                if (game.getBoard().getCellAt(row, column).isBlackHole() && game.getStatus() == GameStatus.IN_PROGRESS) {
+                    game.revealCell(row, column);
+                }
+            }
+        }
+
+        GameDelta delta = gameMapper.transformToGameDelta(1L, game);
+
+        assertEquals(GameStatus.LOSE, delta.getStatus());
+        assertTrue(delta.isFullRefresh());
+        assertTrue(delta.getChangedCells().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Game -> BoardView reuses shared CellView instances")
+    void shouldReuseCellViews() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 20, 3L);
+        BoardView first = gameMapper.transformToBoardView(game);
+        BoardView second = gameMapper.transformToBoardView(game);
+
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                CellView cellView = first.getCells()[row][col];
+                assertSame(cellView, second.getCells()[row][col]);
+                assertSame(cellView, CellView.of(cellView.getAdjacentBlackHolesCount(), cellView.isBlackHole(), cellView.isRevealed(), cellView.isEmpty()));
+            }
+        }
+        CellView numbered = CellView.of(3, false, true, false);
+        assertEquals(3, numbered.getAdjacentBlackHolesCount());
+        assertTrue(numbered.isRevealed());
+        assertFalse(numbered.isBlackHole() || numbered.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> CellView.of(9, false, true, false));
+    }
+
+    @Test
+    @DisplayName("Live BoardView reads the board and fails fast after a move")
+    void shouldFailFastWhenLiveViewIsStale() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 20, 3L);
+        BoardView liveView = gameMapper.transformToLiveBoardView(game);
+        BoardView copy = gameMapper.transformToBoardView(game);
+
+        for (int row = 0; row < 10; row++) {
+            for (int col = 0; col < 10; col++) {
+                assertSame(copy.getCellAt(row, col), liveView.getCellAt(row, col));
+            }
+        }
+        assertEquals(copy, new BoardView(10, 10, liveView.getCells()));
+
+        int[] safeCell = findSafeCell(game);
+        game.revealCell(safeCell[0], safeCell[1]);
+
+        assertThrows(ConcurrentModificationException.class, () -> liveView.getCellAt(0, 0));
+        assertTrue(gameMapper.transformToLiveBoardView(game).getCellAt(safeCell[0], safeCell[1]).isRevealed());
+    }
+
+    @Test
+    @DisplayName("GameView keeps a snapshot of the board valid after a move, the live GameView fails fast")
+    void shouldKeepGameViewSnapshotAfterMove() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 20, 3L);
+        GameView snapshot = gameMapper.transformToGameView(1L, game);
+        GameView live = gameMapper.transformToLiveGameView(1L, game);
+        BoardView copy = new BoardView(10, 10, snapshot.getBoardView().getCells());
+        int hashCode = snapshot.hashCode();
+
+        int[] safeCell = findSafeCell(game);
+        game.revealCell(safeCell[0], safeCell[1]);
+
+        assertFalse(snapshot.getBoardView().getCellAt(safeCell[0], safeCell[1]).isRevealed());
+        assertEquals(copy, snapshot.getBoardView());
+        assertEquals(hashCode, snapshot.hashCode());
+        assertThrows(ConcurrentModificationException.class, () -> live.getBoardView().getCellAt(0, 0));
+    }
+
+    @Test
+    @DisplayName("GameView of a chunked board keeps a snapshot of a window around the last move and the board dimensions")
+    void shouldKeepWindowSnapshotOfChunkedBoard() {
+        Game game = new GameFactory(BoardMode.CHUNKED).createGameWithRandomlyDistributedHoles(1000, 3000, 300, 3L);
+        int[] safeCell = findSafeCell(game, 500, 2990);
+        game.revealCell(safeCell[0], safeCell[1]);
+
+        GameView gameView = gameMapper.transformToGameView(1L, game);
+        BoardView window = gameView.getBoardView();
+        int[] nextSafeCell = findSafeCell(game, 0, 0);
+        game.revealCell(nextSafeCell[0], nextSafeCell[1]);
+
+        assertEquals(1000, gameView.getRows());
+        assertEquals(3000, gameView.getColumns());
+        assertEquals(100, window.getRows());
+        assertEquals(100, window.getColumns());
+        assertEquals(safeCell[0] - 50, window.getFromRow());
+        assertEquals(2900, window.getFromColumn());
+        assertTrue(window.getCellAt(safeCell[0] - window.getFromRow(), safeCell[1] - window.getFromColumn()).isRevealed());
+        assertFalse(window instanceof LiveBoardView);
+    }
+
+    @Test
+    @DisplayName("Lazy BoardView keeps rows read before a move and fails fast on the others")
+    void shouldMaterializeRowsLazily() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(10, 10, 20, 3L);
+        BoardView window = gameMapper.transformToBoardView(game, 2, 3, 4, 4);
+        CellView beforeMove = window.getCellAt(1, 1);
+
+        int[] safeCell = findSafeCell(game);
+        game.revealCell(safeCell[0], safeCell[1]);
+
+        assertSame(beforeMove, window.getCellAt(1, 1));
+        assertThrows(ConcurrentModificationException.class, () -> window.getCellAt(0, 0));
+        assertThrows(ConcurrentModificationException.class, window::getCells);
+    }
+
+    private int[] findSafeCell(Game game) {
+        return findSafeCell(game, 0, 0);
+    }
+
+    private int[] findSafeCell(Game game, int fromRow, int fromColumn) {
+        for (int row = fromRow; row < game.getBoard().getRows(); row++) {
+            for (int column = fromColumn; column < game.getBoard().getColumns(); column++) {
+                if (!game.getBoard().getCellAt(row, column).isBlackHole()) {
+                    return new int[]{row, column};
+                }
+            }
+        }
+        throw new IllegalStateException("No safe cell found");
+    }
+}
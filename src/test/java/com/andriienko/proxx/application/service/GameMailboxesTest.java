@@ -0,0 +1,178 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.application.port.out.GameNotFoundException;
+import com.andriienko.proxx.application.port.out.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GameMailboxesTest {
+    private static final long UNKNOWN_GAME_ID = -1L;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final GameMailboxes mailboxes = new GameMailboxes(executor, gameRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(gameRepository.contains(anyLong())).thenReturn(true);
+        when(gameRepository.contains(UNKNOWN_GAME_ID)).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Runs commands of a game one at a time in submission order")
+    void shouldSerializeCommandsOfGame() {
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int command = i;
+            results.add(mailboxes.submit(1L, () -> {
+                if (running.incrementAndGet() != 1) {
+                    throw new IllegalStateException("Commands of a game overlap");
+                }
+                order.add(command);
+                running.decrementAndGet();
+                return command;
+            }));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).join());
+        }
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Runs commands of different games in parallel")
+    void shouldRunGamesInParallel() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (long gameId = 0; gameId < 4; gameId++) {
+            results.add(mailboxes.submit(gameId, () -> {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(4, mailboxes.size());
+        release.countDown();
+        results.forEach(result -> assertTrue(result.join()));
+    }
+
+    @Test
+    @DisplayName("Keeps commands of a game serialized while its mailbox is removed and created again between commands")
+    void shouldSerializeCommandsWhileMailboxIsRecreated() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int client = 0; client < 4; client++) {
+                submissions.add(clients.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        mailboxes.submit(1L, () -> {
+                            if (running.incrementAndGet() != 1) {
+                                throw new IllegalStateException("Commands of a game overlap");
+                            }
+                            running.decrementAndGet();
+                            return completed.incrementAndGet();
+                        }).join();
+                    }
+                }));
+            }
+            for (Future<?> submission : submissions) {
+                submission.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(8_000, completed.get());
+    }
+
+    @Test
+    @DisplayName("Completes a failed command exceptionally and keeps running the next ones")
+    void shouldPropagateFailure() {
+        CompletableFuture<Integer> failed = mailboxes.submit(1L, () -> {
+            throw new IllegalArgumentException("There is no game with id 1");
+        });
+        CompletableFuture<Integer> next = mailboxes.submit(1L, () -> 42);
+
+        CompletionException exception = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals(42, next.join());
+    }
+
+    @Test
+    @DisplayName("Completes a command which threw an error exceptionally and keeps running the next ones")
+    void shouldPropagateError() {
+        CompletableFuture<Integer> failed = mailboxes.submit(1L, () -> {
+            throw new StackOverflowError();
+        });
+        CompletableFuture<Integer> next = mailboxes.submit(1L, () -> 42);
+
+        CompletionException exception = assertThrows(CompletionException.class, failed.orTimeout(5, TimeUnit.SECONDS)::join);
+        assertInstanceOf(StackOverflowError.class, exception.getCause());
+        assertEquals(42, next.orTimeout(5, TimeUnit.SECONDS).join());
+    }
+
+    @Test
+    @DisplayName("Removes the mailbox of a game once its commands are drained")
+    void shouldRemoveIdleMailbox() throws InterruptedException {
+        mailboxes.submit(1L, () -> 1).join();
+        mailboxes.submit(2L, () -> 2).join();
+
+        // the drain removes the mailbox right after completing the last command
+        for (int attempt = 0; attempt < 500 && mailboxes.size() > 0; attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, mailboxes.size());
+    }
+
+    @Test
+    @DisplayName("Rejects commands of an unknown game without creating a mailbox")
+    void shouldRejectUnknownGame() {
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Integer> result = mailboxes.submit(UNKNOWN_GAME_ID, runs::incrementAndGet);
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(GameNotFoundException.class, exception.getCause());
+        assertEquals(0, runs.get());
+        assertEquals(0, mailboxes.size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.PlayMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GamePoolTest {
+
+    private final Queue<Runnable> refills = new ArrayDeque<>();
+    private GamePool gamePool;
+
+    @BeforeEach
+    void setUp() {
+        gamePool = new GamePool(new GameFactory(), 1, 3, refills::add);
+    }
+
+    @Test
+    @DisplayName("Warm up fills every predefined mode up to the high watermark")
+    void shouldFillUpToHighWatermark() {
+        gamePool.warmUp();
+        runRefills();
+
+        assertEquals(3, gamePool.getSize(PlayMode.EASY));
+        assertEquals(3, gamePool.getSize(PlayMode.MEDIUM));
+        assertEquals(3, gamePool.getSize(PlayMode.EXPERT));
+        assertEquals(0, gamePool.getSize(PlayMode.CUSTOM));
+    }
+
+    @Test
+    @DisplayName("Takes pooled games and refills below the low watermark")
+    void shouldTakePooledGamesAndRefill() {
+        gamePool.warmUp();
+        runRefills();
+
+        Game game = gamePool.take(8, 8, 10);
+        assertEquals(10, game.getBlackHolesNumber());
+        gamePool.take(8, 8, 10);
+        assertEquals(0, refills.size());
+        gamePool.take(8, 8, 10);
+
+        assertEquals(1, refills.size());
+        assertEquals(3, gamePool.getHits());
+        assertEquals(0, gamePool.getMisses());
+        runRefills();
+        assertEquals(3, gamePool.getSize(PlayMode.EASY));
+    }
+
+    @Test
+    @DisplayName("Generates inline when the pool is empty or the mode is custom")
+    void shouldGenerateInlineOnMiss() {
+        Game pooledMode = gamePool.take(16, 16, 40);
+        Game customMode = gamePool.take(5, 5, 3);
+
+        assertEquals(40, pooledMode.getBlackHolesNumber());
+        assertEquals(3, customMode.getBlackHolesNumber());
+        assertEquals(0, gamePool.getHits());
+        assertEquals(1, gamePool.getMisses());
+        assertEquals(1, refills.size());
+    }
+
+    @Test
+    @DisplayName("Exception is thrown if watermarks are inconsistent")
+    void shouldFailOnInvalidWatermarks() {
+        assertThrows(IllegalArgumentException.class, () -> new GamePool(new GameFactory(), 2, 1, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new GamePool(new GameFactory(), 0, 0, Runnable::run));
+    }
+
+    private void runRefills() {
+        while (!refills.isEmpty()) {
+            refills.poll().run();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.andriienko.proxx.application.service;
 
+import com.andriienko.proxx.application.dto.GameDelta;
 import com.andriienko.proxx.application.dto.GameView;
 import com.andriienko.proxx.application.port.in.PlayGameUseCase;
 import com.andriienko.proxx.application.port.out.GameRepository;
@@ -15,6 +16,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,7 +46,7 @@ public class ProxxGameServiceTest {
     @BeforeEach
     public void setup() {
         gameService = new ProxxGameService(gameFactory, gameRepository, gameMapper);
-        when(gameMapper.transformToGameView(any())).thenReturn(gameView);
+        lenient().when(gameMapper.transformToGameView(anyLong(), any())).thenReturn(gameView);
     }
 
     @Test
@@ -52,13 +57,40 @@ public class ProxxGameServiceTest {
         int blackHoles = 3;
 
         when(gameFactory.createGameWithRandomlyDistributedHoles(anyInt(), anyInt(), anyInt())).thenReturn(game);
-        when(gameRepository.save(any())).thenReturn(game);
+        when(gameRepository.save(any())).thenReturn(7L);
 
         gameService.newGame(rows, columns, blackHoles);
 
         verify(gameFactory).createGameWithRandomlyDistributedHoles(rows, columns, blackHoles);
         verify(gameRepository).save(game);
-        verify(gameMapper).transformToGameView(game);
+        verify(gameMapper).transformToGameView(7L, game);
+    }
+
+    @Test
+    @DisplayName("Should create new game with given seed")
+    void shouldCreateNewGameWithSeed() {
+        when(gameFactory.createGameWithRandomlyDistributedHoles(anyInt(), anyInt(), anyInt(), anyLong())).thenReturn(game);
+        when(gameRepository.save(any())).thenReturn(7L);
+
+        gameService.newGame(3, 3, 3, 42L);
+
+        verify(gameFactory).createGameWithRandomlyDistributedHoles(3, 3, 3, 42L);
+        verify(gameRepository).save(game);
+        verify(gameMapper).transformToGameView(7L, game);
+    }
+
+    @Test
+    @DisplayName("Should take new game from pool when it is given")
+    void shouldTakeNewGameFromPool() {
+        GamePool gamePool = mock(GamePool.class);
+        when(gamePool.take(anyInt(), anyInt(), anyInt())).thenReturn(game);
+        PlayGameUseCase pooledService = new ProxxGameService(gameFactory, gameRepository, gameMapper, gamePool);
+
+        pooledService.newGame(8, 8, 10);
+
+        verify(gamePool).take(8, 8, 10);
+        verify(gameFactory, never()).createGameWithRandomlyDistributedHoles(anyInt(), anyInt(), anyInt());
+        verify(gameRepository).save(game);
     }
 
     @Test
@@ -66,12 +98,45 @@ public class ProxxGameServiceTest {
     void shouldRevealCellInExistingGame() {
         int row = 1;
         int column = 1;
-        when(gameRepository.get()).thenReturn(game);
-        when(gameMapper.transformToGameView(any())).thenReturn(gameView);
+        when(gameRepository.get(7L)).thenReturn(game);
 
-        gameService.revealCell(row, column);
+        gameService.revealCell(7L, row, column);
 
         verify(game).revealCell(row, column);
-        verify(gameMapper).transformToGameView(game);
+        verify(gameRepository).update(7L, game);
+        verify(gameMapper).transformToGameView(7L, game);
+    }
+
+    @Test
+    @DisplayName("Should reveal cell in existing game and return delta")
+    void shouldRevealCellAndReturnDelta() {
+        GameDelta gameDelta = mock(GameDelta.class);
+        when(gameRepository.get(7L)).thenReturn(game);
+        when(gameMapper.transformToGameDelta(anyLong(), any())).thenReturn(gameDelta);
+
+        gameService.revealCellDelta(7L, 1, 2);
+
+        verify(game).revealCell(1, 2);
+        verify(gameRepository).update(7L, game);
+        verify(gameMapper).transformToGameDelta(7L, game);
+    }
+
+    @Test
+    @DisplayName("Should map only the requested window of the board")
+    void shouldMapBoardWindow() {
+        when(gameRepository.get(7L)).thenReturn(game);
+
+        gameService.getBoardView(7L, 10, 20, 5, 6);
+
+        verify(gameMapper).transformToBoardView(game, 10, 20, 5, 6);
+        verify(gameMapper, never()).transformToGameView(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should remove game from repository")
+    void shouldRemoveGame() {
+        gameService.removeGame(7L);
+
+        verify(gameRepository).delete(7L);
     }
 }
@@ -0,0 +1,99 @@
+package com.andriienko.proxx.application.service;
+
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.GameView;
+import com.andriienko.proxx.application.dto.LiveBoardView;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SerializedGameServiceTest {
+    private static final int SIDE = 30;
+
+    private final ExecutorService mailboxExecutor = Executors.newFixedThreadPool(4);
+    private final ExecutorService clients = Executors.newFixedThreadPool(8);
+    private final InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+    private final ProxxGameService gameService = new ProxxGameService(new GameFactory(BoardMode.PACKED), gameRepository, new GameMapper());
+    private final SerializedGameService serializedService = new SerializedGameService(gameService, new GameMailboxes(mailboxExecutor, gameRepository));
+
+    @AfterEach
+    void tearDown() {
+        mailboxExecutor.shutdownNow();
+        clients.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Concurrent moves of the same game keep the revealed cells counter consistent")
+    void shouldKeepCountersConsistent() throws Exception {
+        long gameId = serializedService.newGame(SIDE, SIDE, 1, 42L).getGameId();
+        List<Future<?>> moves = new ArrayList<>();
+        for (int client = 0; client < 8; client++) {
+            int offset = client;
+            moves.add(clients.submit(() -> {
+                for (int cell = offset; cell < SIDE * SIDE; cell += 8) {
+                    if (!isBlackHole(gameId, cell / SIDE, cell % SIDE)) {
+                        try {
+                            serializedService.revealCellDelta(gameId, cell / SIDE, cell % SIDE);
+                        } catch (IllegalStateException e) {
+                            // another client has won the game, a finished game accepts no moves
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> move : moves) {
+            move.get();
+        }
+
+        GameView gameView = serializedService.getGame(gameId);
+        assertEquals(GameStatus.WIN, gameView.getStatus());
+        assertEquals(SIDE * SIDE - 1, gameView.getRevealedCellsNumber());
+    }
+
+    @Test
+    @DisplayName("Returns detached views which stay readable after next moves")
+    void shouldReturnDetachedViews() {
+        long gameId = serializedService.newGame(SIDE, SIDE, 1, 42L).getGameId();
+        GameView gameView = serializedService.getGame(gameId);
+        BoardView window = serializedService.getBoardView(gameId, 10, 10, 5, 5);
+
+        serializedService.revealCell(gameId, 0, 0);
+
+        assertFalse(gameView.getBoardView() instanceof LiveBoardView);
+        assertFalse(gameView.getBoardView().getCellAt(0, 0).isRevealed());
+        assertFalse(window.getCellAt(4, 4).isRevealed());
+        assertEquals(10, window.getFromRow());
+    }
+
+    @Test
+    @DisplayName("Rethrows exceptions of the game service and forgets removed games")
+    void shouldRethrowExceptions() {
+        long gameId = serializedService.newGame(SIDE, SIDE, 1, 42L).getGameId();
+
+        serializedService.removeGame(gameId);
+
+        assertInstanceOf(IllegalArgumentException.class,
+                assertThrows(RuntimeException.class, () -> serializedService.revealCell(gameId, 0, 0)));
+    }
+
+    private boolean isBlackHole(long gameId, int row, int column) {
+        return serializedService.getBoardView(gameId, row, column, 1, 1).getCellAt(0, 0).isBlackHole();
+    }
+}
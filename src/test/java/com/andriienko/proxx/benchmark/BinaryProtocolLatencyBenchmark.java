@@ -0,0 +1,72 @@
+package com.andriienko.proxx.benchmark;
+
+import com.andriienko.proxx.adapter.in.tcp.BinaryGameClient;
+import com.andriienko.proxx.adapter.in.tcp.TcpApplicationRunner;
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.application.service.ProxxGameService;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import com.andriienko.proxx.enums.PlayMode;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Round trip latency of reveal requests over the loopback with {@link BinaryGameClient} and {@link TcpApplicationRunner}.
+ * <p>
+ * Plays expert games by random moves, starting a new game whenever one is over, and prints latency percentiles.
+ * Not a unit test, run it manually, e.g.
+ * <pre>
+ *   java -cp target/classes:target/test-classes com.andriienko.proxx.benchmark.BinaryProtocolLatencyBenchmark
+ * </pre>
+ */
+public class BinaryProtocolLatencyBenchmark {
+    private static final int WARMUP_MOVES = 100_000;
+    private static final int MEASURED_MOVES = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+        TcpApplicationRunner runner = new TcpApplicationRunner(
+                new ProxxGameService(new GameFactory(BoardMode.PACKED), gameRepository, new GameMapper()),
+                new GameMailboxes(executor, gameRepository),
+                new InetSocketAddress("localhost", 0));
+        runner.run();
+        try (BinaryGameClient client = new BinaryGameClient(new InetSocketAddress("localhost", runner.getPort()))) {
+            play(client, new long[WARMUP_MOVES]);
+            long[] latencies = new long[MEASURED_MOVES];
+            play(client, latencies);
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %12s%n", "percentile", "latency, us");
+            for (double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+                int index = Math.min(latencies.length - 1, (int) (latencies.length * percentile / 100));
+                System.out.printf("%-10s %12.1f%n", percentile, latencies[index] / 1e3);
+            }
+        } finally {
+            runner.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void play(BinaryGameClient client, long[] latencies) throws IOException {
+        PlayMode mode = PlayMode.EXPERT;
+        SplittableRandom random = new SplittableRandom(42);
+        long gameId = client.newGame(mode.getRows(), mode.getColumns(), mode.getBlackHoles()).getGameId();
+        for (int move = 0; move < latencies.length; move++) {
+            long start = System.nanoTime();
+            BinaryGameClient.Response response = client.revealCell(gameId, random.nextInt(mode.getRows()), random.nextInt(mode.getColumns()));
+            latencies[move] = System.nanoTime() - start;
+            if (response.getGameStatus() != GameStatus.IN_PROGRESS) {
+                client.removeGame(gameId);
+                gameId = client.newGame(mode.getRows(), mode.getColumns(), mode.getBlackHoles()).getGameId();
+            }
+        }
+    }
+}
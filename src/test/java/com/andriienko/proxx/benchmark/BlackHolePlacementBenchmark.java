@@ -0,0 +1,40 @@
+package com.andriienko.proxx.benchmark;
+
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+
+/**
+ * Latency of game creation on the largest flat board for black holes densities from 1% to 99%.
+ * <p>
+ * Not a unit test, run it manually, e.g.
+ * <pre>
+ *   java -cp target/classes:target/test-classes com.andriienko.proxx.benchmark.BlackHolePlacementBenchmark
+ * </pre>
+ */
+public class BlackHolePlacementBenchmark {
+    private static final int BOARD_SIDE = 100;
+    private static final int[] DENSITIES = {1, 10, 25, 50, 75, 90, 99};
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    public static void main(String[] args) {
+        int size = BOARD_SIDE * BOARD_SIDE;
+        System.out.printf("%-10s %14s %16s%n", "density", "black holes", "create, us/op");
+        for (BoardMode mode : new BoardMode[]{BoardMode.OBJECT, BoardMode.PACKED}) {
+            System.out.println(mode);
+            GameFactory gameFactory = new GameFactory(mode);
+            for (int density : DENSITIES) {
+                int blackHoles = Math.min(size - 1, size * density / 100);
+                for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                    gameFactory.createGameWithRandomlyDistributedHoles(BOARD_SIDE, BOARD_SIDE, blackHoles);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                    gameFactory.createGameWithRandomlyDistributedHoles(BOARD_SIDE, BOARD_SIDE, blackHoles);
+                }
+                double microsPerOperation = (System.nanoTime() - start) / 1e3 / MEASURED_ITERATIONS;
+                System.out.printf("%-10s %14d %16.1f%n", density + "%", blackHoles, microsPerOperation);
+            }
+        }
+    }
+}
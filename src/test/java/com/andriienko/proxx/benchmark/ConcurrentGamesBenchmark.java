@@ -0,0 +1,68 @@
+package com.andriienko.proxx.benchmark;
+
+import com.andriienko.proxx.adapter.out.InMemoryGameRepository;
+import com.andriienko.proxx.application.dto.GameDelta;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.application.service.GameMailboxes;
+import com.andriienko.proxx.application.service.ProxxGameService;
+import com.andriienko.proxx.application.service.SerializedGameService;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.PlayMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Throughput of moves over thousands of live expert games, served by {@link SerializedGameService}
+ * with 1, 2, 4 ... up to the number of available processors mailbox threads.
+ * <p>
+ * Not a unit test, run it manually, e.g.
+ * <pre>
+ *   java -cp target/classes:target/test-classes com.andriienko.proxx.benchmark.ConcurrentGamesBenchmark
+ * </pre>
+ */
+public class ConcurrentGamesBenchmark {
+    private static final int GAMES = 4_096;
+    private static final int MOVES_PER_GAME = 64;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        PlayMode mode = PlayMode.EXPERT;
+        System.out.printf("%-10s %16s%n", "threads", "moves/s");
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+            SerializedGameService gameService = new SerializedGameService(
+                    new ProxxGameService(new GameFactory(BoardMode.PACKED), gameRepository, new GameMapper()),
+                    new GameMailboxes(executor, gameRepository)
+            );
+            double best = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long[] gameIds = new long[GAMES];
+                for (int game = 0; game < GAMES; game++) {
+                    gameIds[game] = gameService.newGame(mode.getRows(), mode.getColumns(), mode.getBlackHoles(), game).getGameId();
+                }
+                SplittableRandom random = new SplittableRandom(round);
+                List<CompletableFuture<GameDelta>> moves = new ArrayList<>(GAMES * MOVES_PER_GAME);
+                long start = System.nanoTime();
+                for (int move = 0; move < MOVES_PER_GAME; move++) {
+                    for (long gameId : gameIds) {
+                        moves.add(gameService.revealCellDeltaAsync(gameId, random.nextInt(mode.getRows()), random.nextInt(mode.getColumns())));
+                    }
+                }
+                moves.forEach(CompletableFuture::join);
+                best = Math.max(best, moves.size() / ((System.nanoTime() - start) / 1e9));
+                for (long gameId : gameIds) {
+                    gameService.removeGame(gameId);
+                }
+            }
+            System.out.printf("%-10d %16.0f%n", threads, best);
+            executor.shutdown();
+        }
+    }
+}
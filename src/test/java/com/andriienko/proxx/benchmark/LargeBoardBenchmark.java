@@ -0,0 +1,74 @@
+package com.andriienko.proxx.benchmark;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+
+/**
+ * Memory and latency of chunked boards at 1e6, 1e8 and 1e10 cells.
+ * <p>
+ * For every size: creates a game with 15% of black holes, opens an empty cell near the middle of the board and maps
+ * and reads a 50x50 window around it, printing the latency of each step and the heap retained by the game.
+ * Not a unit test, run it manually with a large enough heap, e.g.
+ * <pre>
+ *   java -Xmx2g -cp target/classes:target/test-classes com.andriienko.proxx.benchmark.LargeBoardBenchmark
+ * </pre>
+ */
+public class LargeBoardBenchmark {
+    private static final int[] BOARD_SIDES = {1_000, 10_000, 100_000};
+    private static final double BLACK_HOLES_DENSITY = 0.15;
+    private static final int WINDOW_SIDE = 50;
+
+    public static void main(String[] args) {
+        GameFactory gameFactory = new GameFactory(BoardMode.CHUNKED);
+        GameMapper gameMapper = new GameMapper();
+        System.out.printf("%-14s %12s %12s %12s %12s %14s%n", "cells", "create, ms", "reveal, ms", "revealed", "window, ms", "retained, KB");
+
+        for (int side : BOARD_SIDES) {
+            long usedBefore = usedHeap();
+
+            long start = System.nanoTime();
+            Game game = gameFactory.createGameWithRandomlyDistributedHoles(side, side, (int) (BLACK_HOLES_DENSITY * side * side));
+            long createNanos = System.nanoTime() - start;
+
+            int[] emptyCell = findEmptyCell(game.getBoard(), side / 2, side / 2);
+            start = System.nanoTime();
+            game.revealCell(emptyCell[0], emptyCell[1]);
+            long revealNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            BoardView window = gameMapper.transformToBoardView(game, emptyCell[0] - WINDOW_SIDE / 2, emptyCell[1] - WINDOW_SIDE / 2, WINDOW_SIDE, WINDOW_SIDE);
+            window.getCells();
+            long windowNanos = System.nanoTime() - start;
+
+            long retained = usedHeap() - usedBefore;
+            System.out.printf("%-14s %12.3f %12.3f %12d %12.3f %14d%n", (long) side * side, createNanos / 1e6, revealNanos / 1e6,
+                    game.getRevealedCellsNumber(), windowNanos / 1e6, retained / 1024);
+            if (window.getRows() != WINDOW_SIDE) {
+                throw new IllegalStateException("Unexpected window size");
+            }
+        }
+    }
+
+    private static int[] findEmptyCell(Board board, int row, int column) {
+        for (int r = row; r < board.getRows(); r++) {
+            for (int c = column; c < board.getColumns(); c++) {
+                if (!board.isBlackHoleAt(r, c) && board.getAdjacentBlackHolesCountAt(r, c) == 0) {
+                    return new int[]{r, c};
+                }
+            }
+        }
+        throw new IllegalStateException("No empty cell found");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,62 @@
+package com.andriienko.proxx.benchmark;
+
+import com.andriienko.proxx.domain.Board;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.RevealMode;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Latency of a first reveal opening most of a sparse chunked board, with tiles generated on the revealing thread
+ * and in parallel on the common pool.
+ * <p>
+ * Not a unit test, run it manually with a large enough heap, e.g.
+ * <pre>
+ *   java -Xmx4g -cp target/classes:target/test-classes com.andriienko.proxx.benchmark.ParallelTileGenerationBenchmark
+ * </pre>
+ */
+public class ParallelTileGenerationBenchmark {
+    private static final int[] BOARD_SIDES = {2_000, 4_000, 8_000};
+    private static final double BLACK_HOLES_DENSITY = 0.002;
+    private static final long SEED = 42L;
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) {
+        System.out.printf("%-12s %14s %18s %18s%n", "cells", "revealed", "sequential, ms", "parallel(" + ForkJoinPool.commonPool().getParallelism() + "), ms");
+        for (int side : BOARD_SIDES) {
+            GameFactory sequential = new GameFactory(BoardMode.CHUNKED, RevealMode.BITBOARD, null);
+            GameFactory parallel = new GameFactory(BoardMode.CHUNKED, RevealMode.BITBOARD, ForkJoinPool.commonPool());
+            long[] revealed = new long[1];
+            double sequentialMillis = measure(sequential, side, revealed);
+            double parallelMillis = measure(parallel, side, revealed);
+            System.out.printf("%-12d %14d %18.1f %18.1f%n", (long) side * side, revealed[0], sequentialMillis, parallelMillis);
+        }
+    }
+
+    /**
+     * @return best latency of the first reveal over a few fresh games with the same seed
+     */
+    private static double measure(GameFactory gameFactory, int side, long[] revealed) {
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            Game game = gameFactory.createGameWithRandomlyDistributedHoles(side, side, (int) (BLACK_HOLES_DENSITY * side * side), SEED);
+            int[] emptyCell = findEmptyCell(game.getBoard());
+            long start = System.nanoTime();
+            game.revealCell(emptyCell[0], emptyCell[1]);
+            best = Math.min(best, (System.nanoTime() - start) / 1e6);
+            revealed[0] = game.getRevealedCellsNumber();
+        }
+        return best;
+    }
+
+    private static int[] findEmptyCell(Board board) {
+        for (int column = 0; column < board.getColumns(); column++) {
+            if (!board.isBlackHoleAt(0, column) && board.getAdjacentBlackHolesCountAt(0, column) == 0) {
+                return new int[]{0, column};
+            }
+        }
+        throw new IllegalStateException("No empty cell found");
+    }
+}
@@ -0,0 +1,72 @@
+package com.andriienko.proxx.cli.output;
+
+import com.andriienko.proxx.enums.ScrollDirection;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ViewportTest {
+
+    @Test
+    @DisplayName("Shows the whole board when it fits into the viewport")
+    void shouldShowWholeSmallBoard() {
+        Viewport viewport = new Viewport(8, 12, 20, 20);
+
+        viewport.centerOn(7, 11);
+        viewport.scroll(ScrollDirection.DOWN);
+
+        assertFalse(viewport.isPartial());
+        assertEquals(8, viewport.getRows());
+        assertEquals(12, viewport.getColumns());
+        assertEquals(0, viewport.getFromRow());
+        assertEquals(0, viewport.getFromColumn());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,0,0", "50,50,40,40", "99,99,80,80", "5,60,0,50", "60,15,50,5"})
+    @DisplayName("Centres the window on the cell within the board boundaries")
+    void shouldCenterOnCell(int row, int column, int expectedFromRow, int expectedFromColumn) {
+        Viewport viewport = new Viewport(100, 100, 20, 20);
+
+        viewport.centerOn(row, column);
+
+        assertTrue(viewport.isPartial());
+        assertEquals(expectedFromRow, viewport.getFromRow());
+        assertEquals(expectedFromColumn, viewport.getFromColumn());
+    }
+
+    @Test
+    @DisplayName("Scrolls by half of the window and stops at the board edges")
+    void shouldScrollByHalfWindow() {
+        Viewport viewport = new Viewport(30, 100, 20, 20);
+
+        viewport.scroll(ScrollDirection.RIGHT);
+        viewport.scroll(ScrollDirection.DOWN);
+        assertEquals(10, viewport.getFromRow());
+        assertEquals(10, viewport.getFromColumn());
+
+        viewport.scroll(ScrollDirection.DOWN);
+        viewport.scroll(ScrollDirection.LEFT);
+        viewport.scroll(ScrollDirection.LEFT);
+        assertEquals(10, viewport.getFromRow());
+        assertEquals(0, viewport.getFromColumn());
+
+        viewport.scroll(ScrollDirection.UP);
+        assertEquals(0, viewport.getFromRow());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"24,24,0,0,15,18", "100,100,-1,0,15,18", "10,10,0,0,10,10", "24,24,40,120,24,24", "100,100,30,88,21,20", "100,100,5,4,1,1"})
+    @DisplayName("Sizes the window from the terminal, a 24x80 terminal is assumed when its size is unknown")
+    void shouldFitTerminal(int boardRows, int boardColumns, int terminalRows, int terminalColumns, int expectedRows, int expectedColumns) {
+        Viewport viewport = Viewport.forTerminal(boardRows, boardColumns, terminalRows, terminalColumns);
+
+        assertEquals(expectedRows, viewport.getRows());
+        assertEquals(expectedColumns, viewport.getColumns());
+    }
+}
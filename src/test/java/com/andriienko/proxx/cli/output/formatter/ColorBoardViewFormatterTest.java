@@ -23,10 +23,10 @@ public class ColorBoardViewFormatterTest {
     public void shouldPrintBorderAndCells() {
         // Set up a 2x2 board
         CellView[][] cells = new CellView[2][2];
-        cells[0][0] = new CellView(0, false, true, true);
-        cells[0][1] = new CellView(1, false, true, false);
-        cells[1][0] = new CellView(0, true, true, false);
-        cells[1][1] = new CellView(0, false, false, false);
+        cells[0][0] = CellView.of(0, false, true, true);
+        cells[0][1] = CellView.of(1, false, true, false);
+        cells[1][0] = CellView.of(0, true, true, false);
+        cells[1][1] = CellView.of(0, false, false, false);
 
         BoardView boardView = new BoardView(2, 2, cells);
         String expected = "    1   2  \n" +
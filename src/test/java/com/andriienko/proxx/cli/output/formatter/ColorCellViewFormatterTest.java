@@ -26,11 +26,11 @@ public class ColorCellViewFormatterTest {
 
     static Stream<Arguments> cellViewData() {
         return Stream.of(
-                Arguments.of("", "", new CellView(0, true, true, false)),
-                Arguments.of(ANSI_RED, "H", new CellView(0, true, true, false)),
-                Arguments.of(ANSI_BLACK, "0", new CellView(0, false, true, true)),
-                Arguments.of(ANSI_CYAN, "3", new CellView(3, false, true, false)),
-                Arguments.of(ANSI_YELLOW, "*", new CellView(0, false, false, false))
+                Arguments.of("", "", CellView.of(0, true, true, false)),
+                Arguments.of(ANSI_RED, "H", CellView.of(0, true, true, false)),
+                Arguments.of(ANSI_BLACK, "0", CellView.of(0, false, true, true)),
+                Arguments.of(ANSI_CYAN, "3", CellView.of(3, false, true, false)),
+                Arguments.of(ANSI_YELLOW, "*", CellView.of(0, false, false, false))
         );
     }
 
@@ -0,0 +1,74 @@
+package com.andriienko.proxx.cli.output.formatter;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.application.mapper.GameMapper;
+import com.andriienko.proxx.domain.Game;
+import com.andriienko.proxx.domain.GameFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GlyphTableBoardViewFormatterTest {
+    private final ColorCellViewFormatter cellFormatter = new ColorCellViewFormatter();
+    private final ColorBoardViewFormatter expectedFormatter = new ColorBoardViewFormatter(cellFormatter);
+    private final GlyphTableBoardViewFormatter formatter = new GlyphTableBoardViewFormatter(cellFormatter);
+
+    @ParameterizedTest
+    @CsvSource({"2,2", "3,7", "50,50", "12,4", "3,3"})
+    @DisplayName("Renders the same frames as ColorBoardViewFormatter")
+    void shouldRenderSameFrame(int rows, int columns) {
+        Random random = new Random(rows * 31L + columns);
+        CellView[][] cells = new CellView[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int count = random.nextInt(9);
+                cells[row][column] = CellView.of(count, random.nextInt(5) == 0, random.nextBoolean(), count == 0);
+            }
+        }
+        BoardView boardView = new BoardView(rows, columns, cells);
+
+        assertEquals(expectedFormatter.format(boardView), formatter.format(boardView));
+        assertEquals(expectedFormatter.format(boardView), formatter.format(boardView));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2,2", "50,50", "12,4"})
+    @DisplayName("Streams the same UTF-8 bytes as the formatted String")
+    void shouldStreamSameFrame(int rows, int columns) throws IOException {
+        CellView[][] cells = new CellView[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                cells[row][column] = CellView.of((row + column) % 9, row == column, row % 2 == 0, (row + column) % 9 == 0);
+            }
+        }
+        BoardView boardView = new BoardView(rows, columns, cells);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        formatter.format(boardView, out);
+
+        assertEquals(expectedFormatter.format(boardView), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,10,8", "5,12,10,8", "5,13,10,8", "20,0,10,8", "20,22,10,8"})
+    @DisplayName("Labels rows and columns of a window by their board numbers")
+    void shouldLabelWindowByBoardNumbers(int fromRow, int fromColumn, int rows, int columns) {
+        Game game = new GameFactory().createGameWithRandomlyDistributedHoles(30, 30, 90, 42L);
+        BoardView window = new GameMapper().transformToBoardView(game, fromRow, fromColumn, rows, columns);
+
+        String frame = formatter.format(window);
+
+        assertEquals(expectedFormatter.format(window), frame);
+        assertTrue(frame.startsWith("    %-3d".formatted(fromColumn + 1)));
+        assertTrue(frame.contains("\n%-4d".formatted(fromRow + 1)));
+    }
+}
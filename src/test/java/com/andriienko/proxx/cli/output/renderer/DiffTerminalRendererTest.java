@@ -0,0 +1,84 @@
+package com.andriienko.proxx.cli.output.renderer;
+
+import com.andriienko.proxx.application.dto.BoardView;
+import com.andriienko.proxx.application.dto.CellView;
+import com.andriienko.proxx.cli.output.formatter.ColorBoardViewFormatter;
+import com.andriienko.proxx.cli.output.formatter.ColorCellViewFormatter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DiffTerminalRendererTest {
+    private static final CellView HIDDEN = CellView.of(1, false, false, false);
+    private static final CellView REVEALED = CellView.of(1, false, true, false);
+
+    private final ColorCellViewFormatter cellFormatter = new ColorCellViewFormatter();
+    private ByteArrayOutputStream output;
+    private DiffTerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        output = new ByteArrayOutputStream();
+        renderer = new DiffTerminalRenderer(cellFormatter, new PrintStream(output, false, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Paints the first frame in full")
+    void shouldPaintFirstFrameInFull() {
+        BoardView boardView = board(HIDDEN);
+
+        renderer.render(boardView, "status");
+
+        String expected = "\u001B[H\u001B[2J\n\n\n" + new ColorBoardViewFormatter(cellFormatter).format(boardView) + "\nstatus\n\n";
+        assertEquals(expected, read());
+    }
+
+    @Test
+    @DisplayName("Redraws only changed cells and the status line")
+    void shouldRedrawOnlyChangedCells() {
+        renderer.render(board(HIDDEN), "before");
+        read();
+        BoardView boardView = board(HIDDEN);
+        boardView.getCells()[1][2] = REVEALED;
+
+        renderer.render(boardView, "after");
+
+        String expected = "\u001B[6;13H" + cellFormatter.createCellView(REVEALED)
+                + "\u001B[10;1H\u001B[2Kafter"
+                + "\u001B[12;1H\u001B[J";
+        assertEquals(expected, read());
+    }
+
+    @Test
+    @DisplayName("Paints in full again after reset")
+    void shouldPaintInFullAfterReset() {
+        renderer.render(board(HIDDEN), "status");
+        read();
+        renderer.reset();
+
+        renderer.render(board(HIDDEN), "status");
+
+        assertEquals("\u001B[H\u001B[2J", read().substring(0, 7));
+    }
+
+    private BoardView board(CellView cell) {
+        CellView[][] cells = new CellView[3][3];
+        for (CellView[] row : cells) {
+            Arrays.fill(row, cell);
+        }
+        return new BoardView(3, 3, cells);
+    }
+
+    private String read() {
+        String text = output.toString(StandardCharsets.UTF_8);
+        output.reset();
+        return text;
+    }
+}
@@ -0,0 +1,60 @@
+package com.andriienko.proxx.domain;
+
+import com.andriienko.proxx.enums.BoardMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AdjacencyCounterTest {
+
+    @ParameterizedTest
+    @CsvSource({"OBJECT,3,3,8", "PACKED,3,3,8", "OBJECT,8,8,10", "PACKED,24,24,99", "PACKED,17,65,500", "OBJECT,100,100,9999", "PACKED,100,3,150"})
+    @DisplayName("Bulk placement produces the same counters as placing black holes one by one")
+    void shouldMatchIncrementalPlacement(BoardMode mode, int rows, int columns, int blackHoles) {
+        int[] indices = new BlackHoleSampler().sample(rows * columns, blackHoles, new Random(blackHoles));
+        Game bulkGame = new Game(rows, columns, mode);
+        Game incrementalGame = new Game(rows, columns, mode);
+
+        bulkGame.placeBlackHoles(indices);
+        for (int index : indices) {
+            incrementalGame.placeBlackHole(index / columns, index % columns);
+        }
+
+        assertEquals(blackHoles, bulkGame.getBlackHolesNumber());
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                Cell expected = incrementalGame.getBoard().getCellAt(row, column);
+                Cell actual = bulkGame.getBoard().getCellAt(row, column);
+                assertEquals(expected.isBlackHole(), actual.isBlackHole());
+                assertEquals(expected.getAdjacentBlackHolesCount(), actual.getAdjacentBlackHolesCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Counts one row as a 3x3 box sum without the cell itself")
+    void shouldCountRow() {
+        byte[] above = {0, 1, 0, 0, 1, 0};
+        byte[] current = {0, 1, 1, 0, 0, 0};
+        byte[] below = {0, 0, 0, 0, 1, 0};
+        byte[] counts = new byte[4];
+
+        new AdjacencyCounter().countRow(above, current, below, counts, 4);
+
+        assertArrayEquals(new byte[]{2, 2, 3, 2}, counts);
+    }
+
+    @Test
+    @DisplayName("Exception is thrown if too much black holes placed in bulk")
+    void shouldFailWhenTooMuchBlackHoles() {
+        Game game = new Game(3, 3, BoardMode.PACKED);
+        assertThrows(IllegalArgumentException.class, () -> game.placeBlackHoles(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
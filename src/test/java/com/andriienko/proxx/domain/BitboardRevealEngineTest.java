@@ -0,0 +1,117 @@
+package com.andriienko.proxx.domain;
+
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import com.andriienko.proxx.enums.RevealMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BitboardRevealEngineTest {
+
+    @Test
+    @DisplayName("Reveals connected empty region and its numbered border")
+    void shouldRevealWholeEmptyRegionAndItsBorder() {
+        Game game = new Game(5, 5, BoardMode.PACKED, RevealMode.BITBOARD);
+        game.placeBlackHole(2, 0);
+        game.placeBlackHole(2, 1);
+
+        game.revealCell(0, 0);
+
+        assertEquals(23, game.getRevealedCellsNumber());
+        assertEquals(GameStatus.WIN, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Reveals only root cell when it is numbered")
+    void shouldRevealSingleNumberedCell() {
+        Game game = new Game(3, 3, BoardMode.PACKED, RevealMode.BITBOARD);
+        game.placeBlackHole(1, 2);
+
+        game.revealCell(1, 1);
+        game.revealCell(1, 1);
+
+        assertEquals(1, game.getRevealedCellsNumber());
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"3,3,1", "8,8,10", "24,24,99", "17,65,40", "100,100,150", "64,64,30", "100,100,900", "40,100,5"})
+    @DisplayName("Reveals exactly the same cells as the flood fill")
+    void shouldMatchFloodFill(int rows, int columns, int blackHoles) {
+        Random random = new Random(rows * 31L + columns * 17L + blackHoles);
+        for (int attempt = 0; attempt < 10; attempt++) {
+            Game floodFillGame = new Game(rows, columns, BoardMode.PACKED, RevealMode.FLOOD_FILL);
+            Game bitboardGame = new Game(rows, columns, BoardMode.PACKED, RevealMode.BITBOARD);
+            int placed = 0;
+            while (placed < blackHoles) {
+                int row = random.nextInt(rows);
+                int column = random.nextInt(columns);
+                if (floodFillGame.placeBlackHole(row, column)) {
+                    bitboardGame.placeBlackHole(row, column);
+                    placed++;
+                }
+            }
+
+            clickAndCompare(floodFillGame, bitboardGame, random, 5);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"64,64,30", "65,129,40", "150,200,300", "200,150,3000", "300,300,100", "3,500,20", "500,3,20", "257,193,7000"})
+    @DisplayName("Reveals exactly the same cells as the flood fill on chunked boards spanning several tiles")
+    void shouldMatchFloodFillOnChunkedBoards(int rows, int columns, int blackHoles) {
+        Random random = new Random(rows * 31L + columns * 17L + blackHoles);
+        for (int attempt = 0; attempt < 5; attempt++) {
+            long seed = random.nextLong();
+            Game floodFillGame = new GameFactory(BoardMode.CHUNKED, RevealMode.FLOOD_FILL)
+                    .createGameWithRandomlyDistributedHoles(rows, columns, blackHoles, seed);
+            Game bitboardGame = new GameFactory(BoardMode.CHUNKED, RevealMode.BITBOARD)
+                    .createGameWithRandomlyDistributedHoles(rows, columns, blackHoles, seed);
+
+            clickAndCompare(floodFillGame, bitboardGame, random, 10);
+        }
+    }
+
+    /**
+     * Reveals the same random safe cells in both games and checks that they reveal the same cells after every click
+     */
+    private static void clickAndCompare(Game floodFillGame, Game bitboardGame, Random random, int clicks) {
+        Board expected = floodFillGame.getBoard();
+        Board actual = bitboardGame.getBoard();
+        for (int click = 0; click < clicks && floodFillGame.getStatus() == GameStatus.IN_PROGRESS; click++) {
+            int row = random.nextInt(expected.getRows());
+            int column = random.nextInt(expected.getColumns());
+            if (expected.isBlackHoleAt(row, column)) {
+                continue;
+            }
+            floodFillGame.revealCell(row, column);
+            bitboardGame.revealCell(row, column);
+
+            assertEquals(floodFillGame.getRevealedCellsNumber(), bitboardGame.getRevealedCellsNumber());
+            assertEquals(floodFillGame.getStatus(), bitboardGame.getStatus());
+            assertArrayEquals(sortedIndices(floodFillGame.getRevealLog()), sortedIndices(bitboardGame.getRevealLog()));
+            for (int r = 0; r < expected.getRows(); r++) {
+                for (int c = 0; c < expected.getColumns(); c++) {
+                    assertEquals(expected.isRevealedAt(r, c), actual.isRevealedAt(r, c));
+                }
+            }
+        }
+    }
+
+    private static long[] sortedIndices(RevealLog revealLog) {
+        long[] indices = new long[revealLog.size()];
+        for (int position = 0; position < indices.length; position++) {
+            indices[position] = revealLog.getIndex(position);
+        }
+        Arrays.sort(indices);
+        return indices;
+    }
+}
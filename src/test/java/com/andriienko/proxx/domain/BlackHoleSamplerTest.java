@@ -0,0 +1,62 @@
+package com.andriienko.proxx.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlackHoleSamplerTest {
+    BlackHoleSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        sampler = new BlackHoleSampler();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"9,0", "9,1", "9,4", "9,5", "9,8", "9,9", "10000,100", "10000,5000", "10000,5001", "10000,9999"})
+    @DisplayName("Picks exactly requested number of distinct indices")
+    void shouldPickDistinctIndices(int size, int count) {
+        int[] indices = sampler.sample(size, count, new Random(size + count));
+
+        Set<Integer> distinct = new HashSet<>();
+        for (int index : indices) {
+            assertTrue(index >= 0 && index < size);
+            distinct.add(index);
+        }
+        assertEquals(count, indices.length);
+        assertEquals(count, distinct.size());
+    }
+
+    @Test
+    @DisplayName("Every cell has the same chance to be picked")
+    void shouldPickUniformly() {
+        int size = 10;
+        int[] hits = new int[size];
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            for (int index : sampler.sample(size, i % 2 == 0 ? 3 : 7, random)) {
+                hits[index]++;
+            }
+        }
+        // expected 10_000 hits per cell, 5 sigma is about 330
+        for (int hit : hits) {
+            assertTrue(Math.abs(hit - 10_000) < 500, "Unexpected number of hits " + hit);
+        }
+    }
+
+    @Test
+    @DisplayName("Exception is thrown if more indices requested than available")
+    void shouldFailWhenCountExceedsSize() {
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(9, 10, new Random()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.andriienko.proxx.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BoardKernelTest {
+    private final BoardKernel scalar = new ScalarBoardKernel();
+
+    @Test
+    @DisplayName("Vector kernel is selected when it is compiled and the Vector API module is present")
+    void shouldSelectVectorKernelWhenModuleIsPresent() {
+        BoardKernel vector = BoardKernels.createVectorKernel();
+        assumeTrue(vector != null);
+
+        assertEquals(vector.getClass(), BoardKernels.get().getClass());
+    }
+
+    @Test
+    @DisplayName("Scalar kernel is selected when the vector one is not available")
+    void shouldFallBackToScalarKernel() {
+        assumeTrue(BoardKernels.createVectorKernel() == null);
+
+        assertEquals(ScalarBoardKernel.class, BoardKernels.get().getClass());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 31, 64, 65, 100, 257})
+    @DisplayName("Vector kernel computes the same rows as scalar kernel")
+    void shouldMatchScalarKernel(int columns) {
+        BoardKernel vector = BoardKernels.createVectorKernel();
+        assumeTrue(vector != null);
+        SplittableRandom random = new SplittableRandom(columns);
+
+        byte[] states = new byte[columns];
+        for (int column = 0; column < columns; column++) {
+            states[column] = (byte) (random.nextInt(4) == 0 ? CellState.BLACK_HOLE | random.nextInt(9) : random.nextInt(9));
+        }
+        byte[][] rows = new byte[3][columns + 2];
+        for (byte[] row : rows) {
+            for (int column = 1; column <= columns; column++) {
+                row[column] = (byte) random.nextInt(2);
+            }
+        }
+
+        byte[] expectedFlags = new byte[columns + 2];
+        byte[] actualFlags = new byte[columns + 2];
+        scalar.extractBlackHoles(states, expectedFlags, columns);
+        vector.extractBlackHoles(states, actualFlags, columns);
+        assertArrayEquals(expectedFlags, actualFlags);
+
+        byte[] expectedCounts = new byte[columns];
+        byte[] actualCounts = new byte[columns];
+        scalar.countAdjacentBlackHoles(rows[0], rows[1], rows[2], expectedCounts, columns);
+        vector.countAdjacentBlackHoles(rows[0], rows[1], rows[2], actualCounts, columns);
+        assertArrayEquals(expectedCounts, actualCounts);
+
+        byte[] expectedStates = states.clone();
+        byte[] actualStates = states.clone();
+        scalar.mergeAdjacentBlackHoles(expectedStates, expectedCounts, columns);
+        vector.mergeAdjacentBlackHoles(actualStates, actualCounts, columns);
+        assertArrayEquals(expectedStates, actualStates);
+
+        int words = columns;
+        long[] blackHoles = random.longs(words + 2).toArray();
+        long[] expectedRevealed = random.longs(words + 2).toArray();
+        long[] actualRevealed = expectedRevealed.clone();
+        long[] expectedCandidates = random.longs(words).toArray();
+        long[] actualCandidates = expectedCandidates.clone();
+        assertEquals(scalar.openCells(expectedCandidates, blackHoles, expectedRevealed, 2, words),
+                vector.openCells(actualCandidates, blackHoles, actualRevealed, 2, words));
+        assertArrayEquals(expectedCandidates, actualCandidates);
+        assertArrayEquals(expectedRevealed, actualRevealed);
+    }
+
+    @Test
+    @DisplayName("Scalar kernel opens only cells which are neither black holes nor revealed")
+    void shouldOpenOnlyHiddenSafeCells() {
+        long[] candidates = {0b1111L};
+        long[] blackHoles = {0b0001L};
+        long[] revealed = {0b0010L};
+
+        assertEquals(2, scalar.openCells(candidates, blackHoles, revealed, 0, 1));
+        assertEquals(0b1100L, candidates[0]);
+        assertEquals(0b1110L, revealed[0]);
+    }
+}
@@ -1,5 +1,6 @@
 package com.andriienko.proxx.domain;
 
+import com.andriienko.proxx.enums.BoardMode;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.ArrayList;
@@ -15,9 +17,11 @@ import java.util.stream.Stream;
 
 import static com.andriienko.proxx.TestUtils.forEachCell;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BoardTest {
     private static final int BOARD_DIMENSION_SIZE = 3;
@@ -37,6 +41,45 @@ public class BoardTest {
         forEachCell(board, Assertions::assertNotNull);
     }
 
+    @ParameterizedTest
+    @EnumSource(value = BoardMode.class, names = {"OBJECT", "PACKED"})
+    @DisplayName("Snapshot keeps cell states of the moment it was taken")
+    void shouldKeepStatesInSnapshot(BoardMode mode) {
+        Board board = new Board(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE, mode);
+        board.setState(board.indexOf(1, 2), CellState.markAsBlackHole(CellState.EMPTY));
+        BoardSnapshot snapshot = board.snapshot();
+
+        board.revealAll();
+
+        assertTrue(snapshot.isBlackHoleAt(1, 2));
+        assertFalse(snapshot.isBlackHoleAt(0, 0));
+        assertFalse(snapshot.isRevealedAt(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.isRevealedAt(3, 0));
+        assertThrows(IllegalStateException.class, () -> new Board(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE, BoardMode.CHUNKED).snapshot());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BoardMode.class, names = {"OBJECT", "PACKED"})
+    @DisplayName("Reveal all sets a mask, cells are seen revealed by every read")
+    void shouldRevealAllWithMask(BoardMode mode) {
+        Board board = new Board(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE, mode);
+        board.setState(board.indexOf(1, 2), CellState.markAsBlackHole(CellState.EMPTY));
+
+        board.revealAll();
+
+        byte[] states = new byte[BOARD_DIMENSION_SIZE];
+        for (int row = 0; row < BOARD_DIMENSION_SIZE; row++) {
+            board.readRow(row, states);
+            for (int column = 0; column < BOARD_DIMENSION_SIZE; column++) {
+                assertTrue(board.isRevealedAt(row, column));
+                assertTrue(CellState.isRevealed(states[column]));
+                assertTrue(board.getCellAt(row, column).isRevealed());
+            }
+        }
+        assertTrue(board.isBlackHoleAt(1, 2));
+        assertTrue(board.getCellAt(1, 2).isBlackHole());
+    }
+
     @ParameterizedTest
     @CsvSource({"-1,0", "0,-1", "3,0", "0,3"})
     @DisplayName("Exception is thrown when getting cell out of board")
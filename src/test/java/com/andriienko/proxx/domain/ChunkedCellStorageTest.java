@@ -0,0 +1,183 @@
+package com.andriienko.proxx.domain;
+
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import com.andriienko.proxx.enums.RevealMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkedCellStorageTest {
+
+    @ParameterizedTest
+    @CsvSource({"3,3,1", "64,64,500", "130,70,2000", "200,300,59999", "100,129,1"})
+    @DisplayName("Lazy layout places exactly requested black holes with consistent adjacency counts")
+    void shouldGenerateConsistentLayout(int rows, int columns, int blackHoles) {
+        Game game = new Game(rows, columns, BoardMode.CHUNKED);
+        game.placeBlackHolesLazily(blackHoles, 42L);
+        Board board = game.getBoard();
+
+        int actualBlackHoles = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                Cell cell = board.getCellAt(row, column);
+                if (cell.isBlackHole()) {
+                    actualBlackHoles++;
+                }
+                int[] expectedCount = new int[1];
+                board.visitAdjacentCells(row, column, c -> expectedCount[0] += c.isBlackHole() ? 1 : 0);
+                assertEquals(expectedCount[0], cell.getAdjacentBlackHolesCount());
+            }
+        }
+        assertEquals(blackHoles, actualBlackHoles);
+        assertEquals(blackHoles, game.getBlackHolesNumber());
+    }
+
+    @Test
+    @DisplayName("Lazy layout does not depend on the order tiles are touched in")
+    void shouldGenerateSameLayoutForSameSeed() {
+        Game forward = new Game(150, 150, BoardMode.CHUNKED);
+        Game backward = new Game(150, 150, BoardMode.CHUNKED);
+        forward.placeBlackHolesLazily(3000, 7L);
+        backward.placeBlackHolesLazily(3000, 7L);
+
+        for (int row = 149; row >= 0; row--) {
+            for (int column = 149; column >= 0; column--) {
+                backward.getBoard().getCellAt(row, column);
+            }
+        }
+        for (int row = 0; row < 150; row++) {
+            for (int column = 0; column < 150; column++) {
+                Cell expected = forward.getBoard().getCellAt(row, column);
+                Cell actual = backward.getBoard().getCellAt(row, column);
+                assertEquals(expected.isBlackHole(), actual.isBlackHole());
+                assertEquals(expected.getAdjacentBlackHolesCount(), actual.getAdjacentBlackHolesCount());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1,7", "4,7", "4,12345"})
+    @DisplayName("Tiles generated in parallel by a large reveal are the same as tiles generated one by one")
+    void shouldRevealSameBoardWithGenerationPool(int parallelism, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Game sequential = new Game(700, 900, BoardMode.CHUNKED, RevealMode.BITBOARD);
+            Game parallel = new Game(700, 900, BoardMode.CHUNKED, RevealMode.BITBOARD);
+            sequential.placeBlackHolesLazily(2000, seed);
+            parallel.placeBlackHolesLazily(2000, seed, pool);
+            int[] emptyCell = findEmptyCell(sequential.getBoard());
+
+            sequential.revealCell(emptyCell[0], emptyCell[1]);
+            parallel.revealCell(emptyCell[0], emptyCell[1]);
+
+            assertTrue(sequential.getRevealedCellsNumber() > 64 * 64);
+            assertEquals(sequential.getRevealedCellsNumber(), parallel.getRevealedCellsNumber());
+            for (int row = 0; row < 700; row++) {
+                for (int column = 0; column < 900; column++) {
+                    assertEquals(sequential.getBoard().getState(sequential.getBoard().indexOf(row, column)),
+                            parallel.getBoard().getState(parallel.getBoard().indexOf(row, column)));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Game on chunked board reveals the same cells as on packed board")
+    void shouldRevealSameCellsAsPackedBoard() {
+        Game chunked = new Game(100, 100, BoardMode.CHUNKED);
+        chunked.placeBlackHolesLazily(700, 1L);
+        Game packed = new Game(100, 100, BoardMode.PACKED);
+        for (int row = 0; row < 100; row++) {
+            for (int column = 0; column < 100; column++) {
+                if (chunked.getBoard().getCellAt(row, column).isBlackHole()) {
+                    packed.placeBlackHole(row, column);
+                }
+            }
+        }
+
+        for (int row = 0; row < 100 && chunked.getStatus() == GameStatus.IN_PROGRESS; row += 7) {
+            for (int column = 0; column < 100; column += 11) {
+                if (!chunked.getBoard().getCellAt(row, column).isBlackHole()) {
+                    chunked.revealCell(row, column);
+                    packed.revealCell(row, column);
+                }
+            }
+        }
+        assertEquals(packed.getRevealedCellsNumber(), chunked.getRevealedCellsNumber());
+        for (int row = 0; row < 100; row++) {
+            for (int column = 0; column < 100; column++) {
+                assertEquals(packed.getBoard().getCellAt(row, column).isRevealed(), chunked.getBoard().getCellAt(row, column).isRevealed());
+                assertEquals(packed.getBoard().getCellAt(row, column).getAdjacentBlackHolesCount(), chunked.getBoard().getCellAt(row, column).getAdjacentBlackHolesCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Explicitly placed black holes update adjacency counts across tile borders")
+    void shouldPlaceBlackHolesAcrossTileBorders() {
+        Game game = new Game(130, 130, BoardMode.CHUNKED);
+        game.placeBlackHole(63, 63);
+        game.placeBlackHole(64, 64);
+
+        Board board = game.getBoard();
+        assertEquals(2, board.getCellAt(63, 64).getAdjacentBlackHolesCount());
+        assertEquals(2, board.getCellAt(64, 63).getAdjacentBlackHolesCount());
+        assertEquals(1, board.getCellAt(62, 62).getAdjacentBlackHolesCount());
+        assertEquals(1, board.getCellAt(65, 65).getAdjacentBlackHolesCount());
+        assertEquals(0, board.getCellAt(129, 129).getAdjacentBlackHolesCount());
+    }
+
+    @Test
+    @DisplayName("Chunked boards accept dimensions far beyond flat boards limits")
+    void shouldCreateLargeChunkedBoard() {
+        Game game = new Game(100_000, 100_000, BoardMode.CHUNKED);
+        game.placeBlackHolesLazily(1_500_000_000, 3L);
+
+        assertEquals(10_000_000_000L, game.getSize());
+        game.getBoard().getCellAt(99_999, 99_999);
+        assertThrows(IllegalArgumentException.class, () -> new Game(1_000_001, 3, BoardMode.CHUNKED));
+        assertThrows(IllegalArgumentException.class, () -> new Game(101, 3, BoardMode.PACKED));
+    }
+
+    @Test
+    @DisplayName("Losing on a huge chunked board reveals it without touching the tiles")
+    void shouldRevealHugeBoardOnLose() {
+        Game game = new Game(1_000_000, 1_000_000, BoardMode.CHUNKED);
+        game.placeBlackHolesLazily(150_000_000, 11L);
+        int[] blackHole = null;
+        for (int column = 0; blackHole == null; column++) {
+            if (game.getBoard().getCellAt(0, column).isBlackHole()) {
+                blackHole = new int[]{0, column};
+            }
+        }
+
+        game.revealCell(blackHole[0], blackHole[1]);
+
+        assertEquals(GameStatus.LOSE, game.getStatus());
+        assertTrue(game.getBoard().isFullyRevealed());
+        assertTrue(game.getBoard().getCellAt(999_999, 999_999).isRevealed());
+        assertTrue(game.getBoard().isRevealedAt(500_000, 12));
+        assertEquals(game.getSize(), game.getRevealedCellsNumber());
+    }
+
+    private int[] findEmptyCell(Board board) {
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int column = 0; column < board.getColumns(); column++) {
+                if (!board.isBlackHoleAt(row, column) && board.getAdjacentBlackHolesCountAt(row, column) == 0) {
+                    return new int[]{row, column};
+                }
+            }
+        }
+        throw new IllegalStateException("No empty cell found");
+    }
+}
@@ -1,15 +1,21 @@
 package com.andriienko.proxx.domain;
 
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.BitSet;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.andriienko.proxx.TestUtils.BOARD_DIMENSION_SIZE;
 import static com.andriienko.proxx.TestUtils.forEachCell;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GameFactoryTest {
 
@@ -55,4 +61,63 @@ public class GameFactoryTest {
                 "Too much black holes. Board should contain at least 1 cell"
         );
     }
+
+    @Test
+    @DisplayName("Places black holes on all but one cell of the largest board")
+    void shouldPlaceBlackHolesWithMaximalDensity() {
+        Game game = gameFactory.createGameWithRandomlyDistributedHoles(100, 100, 9_999);
+
+        assertEquals(9_999, game.getBlackHolesNumber());
+        int safeCells = 0;
+        for (int row = 0; row < 100; row++) {
+            for (int column = 0; column < 100; column++) {
+                if (!game.getBoard().getCellAt(row, column).isBlackHole()) {
+                    safeCells++;
+                }
+            }
+        }
+        assertEquals(1, safeCells);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardMode.class)
+    @DisplayName("The same seed produces the same board")
+    void shouldCreateSameBoardForSameSeed(BoardMode mode) {
+        GameFactory seededFactory = new GameFactory(mode);
+        Game expected = seededFactory.createGameWithRandomlyDistributedHoles(30, 40, 200, 123L);
+        Game actual = seededFactory.createGameWithRandomlyDistributedHoles(30, 40, 200, 123L);
+
+        assertEquals(123L, actual.getSeed());
+        for (int row = 0; row < 30; row++) {
+            for (int column = 0; column < 40; column++) {
+                assertEquals(expected.getBoard().getCellAt(row, column).isBlackHole(), actual.getBoard().getCellAt(row, column).isBlackHole());
+                assertEquals(expected.getBoard().getCellAt(row, column).getAdjacentBlackHolesCount(),
+                        actual.getBoard().getCellAt(row, column).getAdjacentBlackHolesCount());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Restores a game from its black holes and revealed cells")
+    void shouldRestoreGame() {
+        BitSet blackHoles = new BitSet();
+        blackHoles.set(0);
+        blackHoles.set(8);
+        BitSet revealed = new BitSet();
+        revealed.set(4);
+        revealed.set(5);
+
+        Game game = gameFactory.restoreGame(3, 3, blackHoles, revealed, 7L);
+
+        assertEquals(2, game.getBlackHolesNumber());
+        assertEquals(2, game.getRevealedCellsNumber());
+        assertEquals(7L, game.getSeed());
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+        assertEquals(2, game.getBoard().getAdjacentBlackHolesCountAt(1, 1));
+        assertTrue(game.getBoard().isRevealedAt(1, 2));
+
+        revealed.set(8);
+        assertEquals(GameStatus.LOSE, gameFactory.restoreGame(3, 3, blackHoles, revealed, 7L).getStatus());
+        assertThrows(IllegalStateException.class, () -> new GameFactory(BoardMode.CHUNKED).restoreGame(3, 3, blackHoles, revealed, 7L));
+    }
 }
@@ -219,4 +219,42 @@ public class GameTest {
         assertEquals(GameStatus.WIN, game.getStatus());
     }
 
+    @Test
+    @DisplayName("Keeps flat index of the last revealed cell")
+    public void shouldKeepLastMoveIndex() {
+        assertEquals(-1, game.getLastMoveIndex());
+        game.placeBlackHole(0, 0);
+        game.placeBlackHole(2, 2);
+
+        game.revealCell(1, 2);
+        assertEquals(BOARD_DIMENSION_SIZE + 2, game.getLastMoveIndex());
+
+        game.revealCell(0, 0);
+        assertEquals(0, game.getLastMoveIndex());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0,0,LOSE", "1,1,WIN"})
+    @DisplayName("Finished game rejects moves and keeps its status and counters")
+    public void shouldRejectMovesAfterGameOver(int row, int column, GameStatus expectedStatus) {
+        game.placeBlackHole(0, 0);
+        game.revealCell(row, column);
+        if (game.getStatus() == GameStatus.IN_PROGRESS) {
+            forEachCell(game.getBoard(), cell -> {
+                if (!cell.isBlackHole() && !cell.isRevealed()) {
+                    game.revealCell(cell.getRow(), cell.getColumn());
+                }
+            });
+        }
+        long revealedCellsNumber = game.getRevealedCellsNumber();
+        long version = game.getVersion();
+
+        assertEquals(expectedStatus, game.getStatus());
+        assertThrows(IllegalStateException.class, () -> game.revealCell(0, 0));
+        assertThrows(IllegalStateException.class, () -> game.revealCell(2, 2));
+        assertEquals(expectedStatus, game.getStatus());
+        assertEquals(revealedCellsNumber, game.getRevealedCellsNumber());
+        assertEquals(version, game.getVersion());
+    }
+
 }
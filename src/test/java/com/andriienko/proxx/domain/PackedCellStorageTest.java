@@ -0,0 +1,99 @@
+package com.andriienko.proxx.domain;
+
+import com.andriienko.proxx.enums.BoardMode;
+import com.andriienko.proxx.enums.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.andriienko.proxx.TestUtils.BOARD_DIMENSION_SIZE;
+import static com.andriienko.proxx.TestUtils.forEachCell;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackedCellStorageTest {
+    PackedCellStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new PackedCellStorage(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE);
+    }
+
+    @Test
+    @DisplayName("A packed cell should have correct initial state after creation")
+    void shouldHaveCorrectInitialState() {
+        Cell cell = storage.getCell(1, 2);
+        assertEquals(1, cell.getRow());
+        assertEquals(2, cell.getColumn());
+        assertFalse(cell.isRevealed());
+        assertFalse(cell.isBlackHole());
+        assertTrue(cell.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Changes made through a cell view are written to the packed storage")
+    void shouldWriteThroughCellView() {
+        Cell cell = storage.getCell(1, 1);
+        cell.markAsBlackHole();
+        cell.addAdjacentBlackHolesCount();
+        cell.addAdjacentBlackHolesCount();
+        cell.markAsRevealed();
+
+        Cell sameCell = storage.getCell(1, 1);
+        assertEquals(cell, sameCell);
+        assertTrue(sameCell.isBlackHole());
+        assertTrue(sameCell.isRevealed());
+        assertEquals(2, sameCell.getAdjacentBlackHolesCount());
+        assertEquals(CellState.EMPTY, storage.getState(3));
+    }
+
+    @Test
+    @DisplayName("Exception is thrown if a packed cell's count of adjacent black holes greater then 8")
+    void shouldThrowExceptionWhenCountOfAdjacentBlackHolesOutOfBoundary() {
+        Cell cell = storage.getCell(0, 0);
+        for (int i = 0; i < 8; i++) {
+            cell.addAdjacentBlackHolesCount();
+        }
+        assertThrows(IllegalStateException.class, cell::addAdjacentBlackHolesCount);
+        assertFalse(cell.isBlackHole());
+    }
+
+    @Test
+    @DisplayName("Game on packed board reveals the same cells as on object board")
+    void shouldPlayOnPackedBoard() {
+        Game game = new Game(BOARD_DIMENSION_SIZE, BOARD_DIMENSION_SIZE, BoardMode.PACKED);
+        game.placeBlackHole(2, 2);
+        game.revealCell(0, 0);
+
+        Board board = game.getBoard();
+        assertEquals(BoardMode.PACKED, board.getMode());
+        forEachCell(board, c -> assertEquals(!c.isBlackHole(), c.isRevealed()));
+        assertEquals(3, board.getCellAt(1, 1).getAdjacentBlackHolesCount() + board.getCellAt(1, 2).getAdjacentBlackHolesCount() + board.getCellAt(2, 1).getAdjacentBlackHolesCount());
+        assertEquals(8, game.getRevealedCellsNumber());
+        assertEquals(GameStatus.WIN, game.getStatus());
+    }
+
+    @Test
+    @DisplayName("Reveal all adds the revealed bit to every read without touching the states")
+    void shouldRevealAllCells() {
+        storage.getCell(0, 0).markAsBlackHole();
+        storage.getCell(2, 2).addAdjacentBlackHolesCount();
+
+        storage.revealAll();
+
+        for (int row = 0; row < BOARD_DIMENSION_SIZE; row++) {
+            for (int column = 0; column < BOARD_DIMENSION_SIZE; column++) {
+                assertTrue(storage.getCell(row, column).isRevealed());
+            }
+        }
+        assertTrue(storage.getCell(0, 0).isBlackHole());
+        assertEquals(1, storage.getCell(2, 2).getAdjacentBlackHolesCount());
+        byte[] row = new byte[BOARD_DIMENSION_SIZE];
+        storage.readStates(0, row, BOARD_DIMENSION_SIZE);
+        for (byte state : row) {
+            assertTrue(CellState.isRevealed(state));
+        }
+    }
+}
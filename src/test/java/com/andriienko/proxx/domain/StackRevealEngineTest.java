@@ -0,0 +1,65 @@
+package com.andriienko.proxx.domain;
+
+import com.andriienko.proxx.enums.BoardMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StackRevealEngineTest {
+
+    @ParameterizedTest
+    @EnumSource(BoardMode.class)
+    @DisplayName("Reveals connected empty region and its numbered border")
+    void shouldRevealWholeEmptyRegionAndItsBorder(BoardMode mode) {
+        /*  0 0 0 0 0
+            2 2 1 0 0
+            H H 1 0 0
+            2 2 1 0 0
+            0 0 0 0 0
+         */
+        Game game = new Game(5, 5, mode);
+        game.placeBlackHole(2, 0);
+        game.placeBlackHole(2, 1);
+        StackRevealEngine engine = new StackRevealEngine(game.getBoard());
+
+        assertEquals(23, engine.revealSafeCells(0, 0));
+        Board board = game.getBoard();
+        for (int row = 0; row < 5; row++) {
+            for (int column = 0; column < 5; column++) {
+                Cell cell = board.getCellAt(row, column);
+                assertEquals(!cell.isBlackHole(), cell.isRevealed());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardMode.class)
+    @DisplayName("Does not reveal already revealed cells and black holes")
+    void shouldNotRevealAgainAlreadyRevealedCells(BoardMode mode) {
+        Game game = new Game(3, 3, mode);
+        game.placeBlackHole(0, 2);
+        StackRevealEngine engine = new StackRevealEngine(game.getBoard());
+
+        assertEquals(1, engine.revealSafeCells(1, 1));
+        assertEquals(0, engine.revealSafeCells(1, 1));
+        assertEquals(0, engine.revealSafeCells(0, 2));
+        assertFalse(game.getBoard().getCellAt(0, 2).isRevealed());
+        assertEquals(7, engine.revealSafeCells(2, 0));
+        assertTrue(game.getBoard().getCellAt(0, 1).isRevealed());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BoardMode.class)
+    @DisplayName("Reveals large empty region beyond initial stack capacity")
+    void shouldGrowStackOnLargeBoard(BoardMode mode) {
+        Game game = new Game(100, 100, mode);
+        game.placeBlackHole(99, 99);
+        StackRevealEngine engine = new StackRevealEngine(game.getBoard());
+
+        assertEquals(9_999, engine.revealSafeCells(0, 0));
+    }
+}
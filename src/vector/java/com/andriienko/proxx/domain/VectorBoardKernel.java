@@ -0,0 +1,98 @@
+package com.andriienko.proxx.domain;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BoardKernel} on top of the incubating Vector API: processes a whole SIMD register of cells per operation
+ * and finishes the tail of every row with a plain loop.
+ * Lanewise bit count is not available in the JDK 17 incubator, so the opened cells are counted with Long.bitCount.
+ * <p>
+ * The class links against {@code jdk.incubator.vector}, so it must be loaded only when the module is present,
+ * see {@link BoardKernels}.
+ */
+class VectorBoardKernel implements BoardKernel {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void extractBlackHoles(byte[] states, byte[] flags, int columns) {
+        int column = 0;
+        for (; column < BYTES.loopBound(columns); column += BYTES.length()) {
+            ByteVector.fromArray(BYTES, states, column)
+                    .and((byte) CellState.BLACK_HOLE)
+                    .lanewise(VectorOperators.LSHR, Integer.numberOfTrailingZeros(CellState.BLACK_HOLE))
+                    .intoArray(flags, column + 1);
+        }
+        for (; column < columns; column++) {
+            flags[column + 1] = (byte) (CellState.isBlackHole(states[column]) ? 1 : 0);
+        }
+    }
+
+    @Override
+    public void countAdjacentBlackHoles(byte[] above, byte[] current, byte[] below, byte[] counts, int columns) {
+        int column = 0;
+        // the east load ends at column + 2 + length, still within the padded rows of columns + 2 elements
+        for (; column < BYTES.loopBound(columns); column += BYTES.length()) {
+            ByteVector west = vertical(above, current, below, column);
+            ByteVector middle = vertical(above, current, below, column + 1);
+            ByteVector east = vertical(above, current, below, column + 2);
+            west.add(middle).add(east)
+                    .sub(ByteVector.fromArray(BYTES, current, column + 1))
+                    .intoArray(counts, column);
+        }
+        for (; column < columns; column++) {
+            int count = 0;
+            for (int i = column; i <= column + 2; i++) {
+                count += above[i] + current[i] + below[i];
+            }
+            counts[column] = (byte) (count - current[column + 1]);
+        }
+    }
+
+    private static ByteVector vertical(byte[] above, byte[] current, byte[] below, int index) {
+        return ByteVector.fromArray(BYTES, above, index)
+                .add(ByteVector.fromArray(BYTES, current, index))
+                .add(ByteVector.fromArray(BYTES, below, index));
+    }
+
+    @Override
+    public void mergeAdjacentBlackHoles(byte[] states, byte[] counts, int columns) {
+        int column = 0;
+        for (; column < BYTES.loopBound(columns); column += BYTES.length()) {
+            ByteVector.fromArray(BYTES, states, column)
+                    .and((byte) ~CellState.ADJACENT_BLACK_HOLES_MASK)
+                    .or(ByteVector.fromArray(BYTES, counts, column))
+                    .intoArray(states, column);
+        }
+        for (; column < columns; column++) {
+            states[column] = (byte) ((states[column] & ~CellState.ADJACENT_BLACK_HOLES_MASK) | counts[column]);
+        }
+    }
+
+    @Override
+    public long openCells(long[] candidates, long[] blackHoles, long[] revealed, int offset, int words) {
+        long opened = 0;
+        int w = 0;
+        for (; w < LONGS.loopBound(words); w += LONGS.length()) {
+            LongVector revealedVector = LongVector.fromArray(LONGS, revealed, offset + w);
+            LongVector cells = LongVector.fromArray(LONGS, candidates, w)
+                    .and(LongVector.fromArray(LONGS, blackHoles, offset + w).not())
+                    .and(revealedVector.not());
+            cells.intoArray(candidates, w);
+            revealedVector.or(cells).intoArray(revealed, offset + w);
+            for (int lane = 0; lane < LONGS.length(); lane++) {
+                opened += Long.bitCount(candidates[w + lane]);
+            }
+        }
+        for (; w < words; w++) {
+            long cells = candidates[w] & ~blackHoles[offset + w] & ~revealed[offset + w];
+            candidates[w] = cells;
+            revealed[offset + w] |= cells;
+            opened += Long.bitCount(cells);
+        }
+        return opened;
+    }
+}